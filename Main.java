@@ -1,17 +1,131 @@
+import cs2030.simulator.ArrivalTrace;
+import cs2030.simulator.ArrivalTraceWriter;
+import cs2030.simulator.BatchMeans;
+import cs2030.simulator.BinaryTraceReader;
+import cs2030.simulator.BinaryTraceWriter;
+import cs2030.simulator.Checkpoint;
+import cs2030.simulator.Checkpointer;
+import cs2030.simulator.Distribution;
 import cs2030.simulator.Simulator;
 import cs2030.simulator.Event;
-import java.util.Scanner;
+import cs2030.simulator.InputTokenizer;
+import cs2030.simulator.ParallelSimulator;
+import cs2030.simulator.Replications;
+import cs2030.simulator.Scenario;
+import cs2030.simulator.SimulatorOptions;
+import cs2030.simulator.SnapshotBranches;
+import cs2030.simulator.Statistics;
+import cs2030.simulator.Sweep;
+import cs2030.simulator.TraceWriter;
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * class Main handles input and output of program.
  */
 public class Main {
     /**
-     * Entry point into the Simulator program.
+     * Entry point into the Simulator program. With no arguments, the events and statistics
+     * of the scenario read from input are printed. Otherwise, the first argument selects
+     * one of the following modes.
+     * "--replications N": N independent replications of the scenario are run in parallel
+     * and the mean and 95% confidence interval of each statistic are printed.
+     * "--sweep": the input is a sweep specification (see Sweep.expand) whose scenarios are
+     * run in parallel and printed as a CSV table.
+     * "--binary-trace FILE": the events are written to FILE as a binary trace and only the
+     * statistics are printed.
+     * "--decode FILE": the binary trace in FILE is printed as text, no input is read.
+     * "--statistics-only": only the statistics, followed by the percentiles of waiting and
+     * sojourn times, are printed, without tracing any event.
+     * "--arrivals FILE": the customers arrive as recorded in the arrival trace FILE, where
+     * the number of customers, arrival rate and greedy probability of the input are unused.
+     * "--encode-arrivals FILE": lines of "arrivalTime greedy|typical [serviceTime]" are read
+     * and written to FILE as an arrival trace, nothing is simulated.
+     * "--batch [FILE] [--threads N]": the input (or FILE) holds any number of scenarios of
+     * the usual 10 numbers, which are run in parallel on up to N threads (all cores by 
+     * default, 1 to run them back to back) and printed one statistics line per scenario,
+     * in the order of the input.
+     * "--branches TIME": the input holds a scenario followed by any number of what-if
+     * variants of it, which may only change its rest probability, greedy probability or 
+     * add SelfCheckOuts. The scenario is simulated up to TIME, from which every variant is
+     * run in parallel as a branch sharing the state of the scenario (see SnapshotBranches),
+     * printing one statistics line per variant, in the order of the input.
+     * "--parallel N": experimental, the servers are split into up to N partitions each
+     * simulated on its own thread (see ParallelSimulator), where draws are keyed by
+     * customer or server, and the statistics are printed as with "--statistics-only".
+     * They match those of a run with keyed random numbers, not those printed with no
+     * arguments. The partitions synchronize at every arrival, so the run is not expected to
+     * be faster than with "--statistics-only".
+     * "--checkpoint FILE INTERVAL": the events and statistics are printed as with no 
+     * arguments, while a snapshot of the simulation is saved to FILE every INTERVAL of 
+     * simulated time, or every N seconds of wall-clock time if INTERVAL is "Ns", together
+     * with the number of lines and bytes printed before it, all of which are flushed.
+     * "--resume FILE [INTERVAL]": the simulation of the same input is resumed from the 
+     * snapshot in FILE, printing the events after those processed before the snapshot, and
+     * is checkpointed to FILE again if INTERVAL is given. The number of lines and bytes 
+     * printed before the snapshot is printed to standard error, so that the output of the
+     * interrupted run, truncated to as many bytes, followed by the output of the resumed 
+     * run, is the output of an uninterrupted run.
+     * "--steady-state [WARMUP]": the statistics are printed as with "--statistics-only",
+     * deleting those of the first WARMUP of simulated time, or of the first N customers if
+     * WARMUP is "Nc", followed by the steady-state average waiting time and its 95% 
+     * confidence interval by batch means, after deleting the warm-up detected by MSER-5.
      * @param args console argument input
      */
     public static void main(String[] args) {
-        Scanner sc = new Scanner(System.in);
+        if (args.length == 2 && args[0].equals("--decode")) {
+            // print binary trace as text
+            try (TraceWriter trace = newStandardOutputTrace()) {
+                BinaryTraceReader.decode(FileChannel.open(Paths.get(args[1])), trace);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return;
+        }
+
+        if (args.length == 2 && args[0].equals("--encode-arrivals")) {
+            // write recorded arrivals as an arrival trace
+            encodeArrivals(args[1]);
+            return;
+        }
+
+        if (args.length >= 1 && args[0].equals("--batch")) {
+            // run every scenario of the batch
+            runBatch(args);
+            return;
+        }
+
+        if (args.length == 2 && args[0].equals("--branches")) {
+            // run every variant from the same instant of the scenario
+            runBranches(Double.parseDouble(args[1]));
+            return;
+        }
+
+        InputTokenizer sc = new InputTokenizer(System.in);
+
+        if (args.length == 1 && args[0].equals("--sweep")) {
+            // run every scenario of the sweep specification
+            Sweep sweep = new Sweep(Sweep.expand(sc.nextLine()), 
+                new SimulatorOptions().withPooledEvents(true));
+            sc.close();
+            List<Statistics> statistics = sweep.run();
+            StringBuilder table = new StringBuilder();
+            sweep.writeCsv(statistics, table);
+            System.out.print(table);
+            return;
+        }
 
         // extract information from input
         int baseSeed = sc.nextInt();
@@ -27,21 +141,220 @@ public class Main {
 
         sc.close();
 
-        // instantiate Simulator object
-        Simulator sim = new Simulator(baseSeed, numOfHumanServers, numOfSelfCheckOuts, maxQLength, 
-            numOfCustomers, arrivalRate, serviceRate, restingRate, restProb, greedyProb); 
+        if (args.length == 2 && args[0].equals("--replications")) {
+            // run replications of the scenario
+            Scenario scenario = new Scenario(baseSeed, numOfHumanServers, numOfSelfCheckOuts, 
+                maxQLength, numOfCustomers, arrivalRate, serviceRate, restingRate, restProb, 
+                greedyProb);
+            Replications replications = new Replications(scenario, new SimulatorOptions());
+            System.out.println(replications.run(Integer.parseInt(args[1])));
+            return;
+        }
+
+        if (args.length == 1 && args[0].equals("--statistics-only")) {
+            // run scenario without observing events
+            Simulator sim = new Simulator(baseSeed, numOfHumanServers, numOfSelfCheckOuts, 
+                maxQLength, numOfCustomers, arrivalRate, serviceRate, restingRate, restProb, 
+                greedyProb, 
+                new SimulatorOptions().withPooledEvents(true).withStatisticsOnly(true));
+            Statistics statistics = sim.run();
+            System.out.println(statistics);
+            System.out.println(statistics.getPercentiles());
+            return;
+        }
+
+        if (args.length >= 1 && args.length <= 2 && args[0].equals("--steady-state")) {
+            // run scenario estimating steady-state waiting time from batch means
+            SimulatorOptions options = new SimulatorOptions().withPooledEvents(true)
+                .withStatisticsOnly(true).withBatchMeans(true);
+            if (args.length == 2 && args[1].endsWith("c")) {
+                options = options.withWarmUpCustomers(
+                    Integer.parseInt(args[1].substring(0, args[1].length() - 1)));
+            } else if (args.length == 2) {
+                options = options.withWarmUpTime(Double.parseDouble(args[1]));
+            }
+            Simulator sim = new Simulator(baseSeed, numOfHumanServers, numOfSelfCheckOuts, 
+                maxQLength, numOfCustomers, arrivalRate, serviceRate, restingRate, restProb, 
+                greedyProb, options);
+            Statistics statistics = sim.run();
+            BatchMeans series = statistics.getWaitingTimeSeries();
+            System.out.println(statistics);
+            System.out.println(statistics.getPercentiles());
+            System.out.println("steady-state waiting time " + series.getEstimate() 
+                + " after deleting " + series.getTruncation() + " of " 
+                + series.getNumOfObservations() + " customers served");
+            return;
+        }
+
+        if (args.length == 2 && args[0].equals("--parallel")) {
+            // run scenario with servers split into partitions
+            ParallelSimulator sim = new ParallelSimulator(baseSeed, numOfHumanServers, 
+                numOfSelfCheckOuts, maxQLength, numOfCustomers, arrivalRate, serviceRate, 
+                restingRate, restProb, greedyProb, new SimulatorOptions(), 
+                Integer.parseInt(args[1]));
+            Statistics statistics = sim.run();
+            System.out.println(statistics);
+            System.out.println(statistics.getPercentiles());
+            return;
+        }
+
+        // instantiate Simulator object, replaying recorded arrivals if given
+        Simulator sim;
+        if (args.length == 2 && args[0].equals("--arrivals")) {
+            Distribution serviceTime = Distribution.exponential(serviceRate);
+            sim = new Simulator(baseSeed, numOfHumanServers, numOfSelfCheckOuts, maxQLength, 
+                openArrivalTrace(args[1]), serviceTime, serviceTime, 
+                Distribution.exponential(restingRate), restProb, new SimulatorOptions());
+        } else {
+            sim = new Simulator(baseSeed, numOfHumanServers, numOfSelfCheckOuts, maxQLength, 
+                numOfCustomers, arrivalRate, serviceRate, restingRate, restProb, greedyProb); 
+        }
+
+        // resume from a snapshot if given, whose trace the output continues
+        Checkpoint resumed = null;
+        if (args.length >= 2 && args[0].equals("--resume")) {
+            resumed = Checkpointer.read(Paths.get(args[1]));
+            sim.restore(resumed.getSnapshot());
+            System.err.println("resuming after " + resumed.getNumOfTraceLines() + " lines ("
+                + resumed.getNumOfTraceBytes() + " bytes) of output");
+        }
+
+        if (args.length == 2 && args[0].equals("--binary-trace")) {
+            // write events to binary trace file
+            try (BinaryTraceWriter trace = new BinaryTraceWriter(FileChannel.open(
+                    Paths.get(args[1]), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING))) {
+                while (sim.hasEvent()) {
+                    trace.write(sim.getEvent());
+                    sim.processEvent();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            System.out.println(sim.getStatistics());
+            return;
+        }
  
-        // process and output events
-        while (sim.hasEvent()) {
-            // while still have events in queue
-            // print event (description of event), skipping SERVER_REST and SERVER_BACK events
-            Event e = sim.getEvent();
-            if (!e.isRestEvent() && !e.isBackEvent()) {
-                System.out.println(e);
+        // process and output events through a buffered writer on standard output
+        Checkpointer checkpointer = null;
+        try (TraceWriter trace = newStandardOutputTrace()) {
+            if (resumed != null) {
+                trace.setPosition(resumed.getNumOfTraceLines(), resumed.getNumOfTraceBytes());
+            }
+            // save snapshots if given, together with the position of the trace
+            if (args.length == 3 
+                && (args[0].equals("--checkpoint") || args[0].equals("--resume"))) {
+                checkpointer = newCheckpointer(Paths.get(args[1]), args[2], trace);
+            }
+            while (sim.hasEvent()) {
+                // while still have events in queue
+                // write event (description of event), skipping SERVER_REST and SERVER_BACK events
+                Event e = sim.getEvent();
+                trace.write(e);
+                sim.processEvent();
+                if (checkpointer != null) {
+                    checkpointer.afterEvent(sim);
+                }
+            }
+
+            trace.writeLine(sim.getStatistics().toString());
+        } finally {
+            if (checkpointer != null) {
+                checkpointer.close();
+            }
+        }
+    }
+
+    private static Checkpointer newCheckpointer(Path file, String interval, 
+        TraceWriter trace) {
+        if (interval.endsWith("s")) {
+            long seconds = Long.parseLong(interval.substring(0, interval.length() - 1));
+            return new Checkpointer(file, 0, seconds * 1000, trace);
+        }
+        return new Checkpointer(file, Double.parseDouble(interval), 0, trace);
+    }
+
+    private static void runBatch(String[] args) {
+        String file = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--threads") && i + 1 < args.length) {
+                threads = Integer.parseInt(args[++i]);
+            } else {
+                file = args[i];
             }
-            sim.processEvent();
         }
 
-        System.out.println(sim.getStatistics());
+        List<Scenario> scenarios = new ArrayList<>();
+        try (InputStream in = file == null ? System.in : new FileInputStream(file);
+            InputTokenizer tokenizer = new InputTokenizer(in)) {
+            while (tokenizer.hasNext()) {
+                scenarios.add(Scenario.read(tokenizer));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        List<Statistics> statistics = new Sweep(scenarios, 
+            new SimulatorOptions().withPooledEvents(true), threads).run();
+        try (TraceWriter out = newStandardOutputTrace()) {
+            for (Statistics s : statistics) {
+                out.writeLine(s.toString());
+            }
+        }
+    }
+
+    private static void runBranches(double time) {
+        List<Scenario> scenarios = new ArrayList<>();
+        try (InputTokenizer tokenizer = new InputTokenizer(System.in)) {
+            while (tokenizer.hasNext()) {
+                scenarios.add(Scenario.read(tokenizer));
+            }
+        }
+
+        // events are not pooled, so that branches share those of the trunk
+        SimulatorOptions options = new SimulatorOptions().withStatisticsOnly(true);
+        Simulator trunk = scenarios.get(0).newSimulator(options);
+        trunk.runUntil(time);
+        List<Statistics> statistics = new SnapshotBranches(trunk, 
+            scenarios.subList(1, scenarios.size()), options).run();
+        try (TraceWriter out = newStandardOutputTrace()) {
+            for (Statistics s : statistics) {
+                out.writeLine(s.toString());
+            }
+        }
+    }
+
+    private static ArrivalTrace openArrivalTrace(String file) {
+        try {
+            return new ArrivalTrace(FileChannel.open(Paths.get(file)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void encodeArrivals(String file) {
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
+            ArrivalTraceWriter out = new ArrivalTraceWriter(FileChannel.open(
+                Paths.get(file), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] tokens = line.trim().split("\\s+");
+                if (tokens[0].isEmpty()) {
+                    continue;
+                }
+                double serviceTime = tokens.length > 2 
+                    ? Double.parseDouble(tokens[2]) : Double.NaN;
+                out.write(Double.parseDouble(tokens[0]), tokens[1].equals("greedy"), 
+                    serviceTime);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static TraceWriter newStandardOutputTrace() {
+        return new TraceWriter(new FileOutputStream(FileDescriptor.out).getChannel());
     }
 }
@@ -0,0 +1,37 @@
+package cs2030.simulator;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * DiscardChannel class representing a channel which consumes and discards all bytes 
+ * written to it, standing in for standard output when benchmarking traces.
+ */
+class DiscardChannel implements WritableByteChannel {
+    private long numOfBytes;
+
+    @Override
+    public int write(ByteBuffer src) {
+        int n = src.remaining();
+        src.position(src.limit());
+        numOfBytes += n;
+        return n;
+    }
+
+    /**
+     * Returns the number of bytes written to this channel.
+     * @return number of bytes written to this channel
+     */
+    long getNumOfBytes() {
+        return numOfBytes;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return true;
+    }
+
+    @Override
+    public void close() {
+    }
+}
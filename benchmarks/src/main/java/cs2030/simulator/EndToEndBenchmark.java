@@ -0,0 +1,91 @@
+package cs2030.simulator;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * EndToEndBenchmark class measuring full runs of Main's sample input tuples as Main runs 
+ * them, being a new simulator whose trace and statistics are written through a TraceWriter
+ * (to a discarding channel), each operation being one run. The events processed are 
+ * counted, so that throughput is also reported in events per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EndToEndBenchmark {
+    @Param({
+        "1 1 0 1 5 1.0 1.0 0.0 0.0 0.0",
+        "1 2 0 2 200 1.0 1.0 0.0 0.0 0.0",
+        "2 2 1 2 500 1.5 1.0 1.0 0.5 0.3",
+        "3 3 3 3 2000 3.0 1.0 0.5 0.3 0.5",
+        "4 0 4 2 1000 2.0 0.5 1.0 0.2 0.9",
+        "5 5 0 0 1000 4.0 1.0 1.0 0.1 0.0",
+        "7 10 10 5 20000 15.0 1.0 0.1 0.4 0.4",
+        "9 2 0 3 300 2.0 1.0 0.0 0.3 0.2"
+    })
+    public String input;
+
+    private Scenario scenario;
+
+    /**
+     * EventCounter class counting the events processed in each iteration.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class EventCounter {
+        public long events;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            events = 0;
+        }
+    }
+
+    /**
+     * Parses the input tuple.
+     */
+    @Setup
+    public void setUp() {
+        String[] tokens = input.split(" ");
+        scenario = new Scenario(Integer.parseInt(tokens[0]), Integer.parseInt(tokens[1]),
+            Integer.parseInt(tokens[2]), Integer.parseInt(tokens[3]), 
+            Integer.parseInt(tokens[4]), Double.parseDouble(tokens[5]), 
+            Double.parseDouble(tokens[6]), Double.parseDouble(tokens[7]), 
+            Double.parseDouble(tokens[8]), Double.parseDouble(tokens[9]));
+    }
+
+    /**
+     * Runs the scenario to completion, writing its trace and statistics.
+     * @param counter counter of the events processed
+     * @return number of bytes of the trace
+     */
+    @Benchmark
+    public long run(EventCounter counter) {
+        Simulator sim = scenario.newSimulator(new SimulatorOptions());
+        DiscardChannel channel = new DiscardChannel();
+        try (TraceWriter trace = new TraceWriter(channel)) {
+            while (sim.hasEvent()) {
+                trace.write(sim.getEvent());
+                sim.processEvent();
+                counter.events++;
+            }
+            trace.writeLine(sim.getStatistics().toString());
+        }
+        return channel.getNumOfBytes();
+    }
+}
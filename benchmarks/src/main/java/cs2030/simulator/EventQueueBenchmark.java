@@ -0,0 +1,101 @@
+package cs2030.simulator;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * EventQueueBenchmark class measuring EventComparator and the event queues by the hold
+ * model, where each operation polls the next event and adds it back at a later time, so
+ * that the queue stays at a fixed size as it does in a running Simulator.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventQueueBenchmark {
+    // number of precomputed time increments, a power of 2
+    private static final int NUM_OF_INCREMENTS = 1 << 16;
+
+    @Param({"heap", "priority", "calendar"})
+    public String queue;
+
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    private EventQueue eventQ;
+    private Comparator<Event> comparator;
+    private Event[] events;
+    private double[] increments;
+    private int next;
+
+    /**
+     * Fills the queue with events of distinct customers at exponentially distributed times.
+     */
+    @Setup
+    public void setUp() {
+        eventQ = newEventQueue(queue).get();
+        comparator = new EventComparator();
+        Random random = new Random(1);
+        increments = new double[NUM_OF_INCREMENTS];
+        for (int i = 0; i < NUM_OF_INCREMENTS; i++) {
+            increments[i] = -Math.log(1 - random.nextDouble());
+        }
+        events = new Event[size];
+        for (int i = 0; i < size; i++) {
+            Customer customer = new TypicalCustomer(0, i + 1, cs2030.simulator.State.ARRIVES);
+            events[i] = new Event(increments[i & (NUM_OF_INCREMENTS - 1)], customer, null);
+            eventQ.add(events[i]);
+        }
+        next = 0;
+    }
+
+    static Supplier<EventQueue> newEventQueue(String queue) {
+        switch (queue) {
+            case "heap":
+                return HeapEventQueue::new;
+            case "priority":
+                return PriorityEventQueue::new;
+            case "calendar":
+                return CalendarEventQueue::new;
+            default:
+                throw new IllegalArgumentException("unknown event queue: " + queue);
+        }
+    }
+
+    /**
+     * Polls the next event and adds it back at a later time.
+     * @return polled event
+     */
+    @Benchmark
+    public Event hold() {
+        Event e = eventQ.poll();
+        double increment = increments[next++ & (NUM_OF_INCREMENTS - 1)];
+        eventQ.add(e.reset(e.getTime() + increment, e.getCustomer(), null));
+        return e;
+    }
+
+    /**
+     * Compares two events of the queue.
+     * @return result of the comparison
+     */
+    @Benchmark
+    public int compare() {
+        int i = next++ & (size - 1);
+        return comparator.compare(events[i], events[(i + 1) & (size - 1)]);
+    }
+}
@@ -0,0 +1,65 @@
+package cs2030.simulator;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ProcessEventBenchmark class measuring the throughput of Simulator.processEvent, each 
+ * operation being one event, at several numbers of servers and probabilities of greedy 
+ * customers. Customers arrive at 90% of the total service rate and never run out, so the
+ * simulator is measured in its steady state.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProcessEventBenchmark {
+    @Param({"1", "10", "100"})
+    public int numOfServers;
+
+    @Param({"0.0", "0.5", "1.0"})
+    public double greedyProb;
+
+    @Param({"false", "true"})
+    public boolean pooled;
+
+    @Param({"false", "true"})
+    public boolean statisticsOnly;
+
+    private Simulator sim;
+
+    /**
+     * Creates a simulator with half of its servers being self-checkouts.
+     */
+    @Setup
+    public void setUp() {
+        int numOfHumanServers = (numOfServers + 1) / 2;
+        int numOfSelfCheckOuts = numOfServers - numOfHumanServers;
+        sim = new Scenario(1, numOfHumanServers, numOfSelfCheckOuts, 5, Integer.MAX_VALUE, 
+            0.9 * numOfServers, 1.0, 1.0, 0.1, greedyProb)
+            .newSimulator(new SimulatorOptions().withPooledEvents(pooled)
+                .withStatisticsOnly(statisticsOnly));
+    }
+
+    /**
+     * Processes the next event.
+     * @return simulator
+     */
+    @Benchmark
+    public Simulator processEvent() {
+        sim.processEvent();
+        return sim;
+    }
+}
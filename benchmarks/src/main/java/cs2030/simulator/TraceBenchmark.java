@@ -0,0 +1,79 @@
+package cs2030.simulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * TraceBenchmark class measuring the formatting of one event of the trace, each operation
+ * being one event, through Event.toString and through TraceWriter. Events are recorded 
+ * beforehand from an immutable simulator of the largest sample input.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TraceBenchmark {
+    private Event[] events;
+    private TraceWriter trace;
+    private int next;
+
+    /**
+     * Records the trace events of the largest sample input.
+     */
+    @Setup
+    public void setUp() {
+        Simulator sim = new Scenario(7, 10, 10, 5, 20000, 15.0, 1.0, 0.1, 0.4, 0.4)
+            .newSimulator(new SimulatorOptions());
+        List<Event> trace = new ArrayList<>();
+        while (sim.hasEvent()) {
+            Event e = sim.getEvent();
+            if (!e.isRestEvent() && !e.isBackEvent()) {
+                trace.add(e);
+            }
+            sim.processEvent();
+        }
+        events = trace.toArray(new Event[0]);
+        this.trace = new TraceWriter(new DiscardChannel());
+        next = 0;
+    }
+
+    private Event nextEvent() {
+        Event e = events[next++];
+        if (next == events.length) {
+            next = 0;
+        }
+        return e;
+    }
+
+    /**
+     * Formats the next event as a String.
+     * @return line of the event
+     */
+    @Benchmark
+    public String eventToString() {
+        return nextEvent().toString();
+    }
+
+    /**
+     * Writes the next event through a trace writer to a discarding channel.
+     * @return trace writer
+     */
+    @Benchmark
+    public TraceWriter traceWriter() {
+        trace.write(nextEvent());
+        return trace;
+    }
+}
@@ -0,0 +1,38 @@
+package cs2030.simulator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * ArrivalSource interface representing a stream of customer arrival events that the
+ * Simulator draws from one at a time, so that only the next arrival needs to be in the
+ * event queue at any point in the simulation.
+ */
+interface ArrivalSource {
+    /**
+     * Returns true if there are still customers yet to arrive.
+     * @return true if there are still customers yet to arrive
+     */
+    boolean hasNextArrival();
+
+    /**
+     * Creates and returns the arrival event of the next customer.
+     * @return arrival event of the next customer
+     */
+    Event nextArrival();
+
+    /**
+     * Writes the position of this source, apart from any random streams it draws from.
+     * @param out destination of the position
+     * @throws IOException if the position cannot be written
+     */
+    void writeState(DataOutput out) throws IOException;
+
+    /**
+     * Reads the position written by writeState of a source of the same arrivals.
+     * @param in source of the position
+     * @throws IOException if the position cannot be read
+     */
+    void readState(DataInput in) throws IOException;
+}
@@ -0,0 +1,84 @@
+package cs2030.simulator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * ArrivalTrace class representing a file of recorded customer arrivals written by 
+ * ArrivalTraceWriter, which Simulators replay instead of generating random arrivals. The 
+ * file is memory-mapped one window at a time as it is replayed, so that traces of any 
+ * size are never loaded into the heap, and any number of simulators may replay the same 
+ * trace.
+ */
+public class ArrivalTrace implements AutoCloseable {
+    private final FileChannel channel;
+    private final long numOfRecords;
+
+    /**
+     * Constructs the arrival trace in the given file channel.
+     * @param channel channel of the file, open for reading
+     * @throws IllegalArgumentException if the file is not an arrival trace
+     */
+    public ArrivalTrace(FileChannel channel) {
+        this.channel = channel;
+        try {
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(ArrivalTraceWriter.HEADER_LENGTH);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // read until header is full or end of file
+            }
+            byte[] magic = Arrays.copyOf(header.array(), ArrivalTraceWriter.MAGIC.length);
+            if (header.hasRemaining() || !Arrays.equals(magic, ArrivalTraceWriter.MAGIC)
+                || header.get(magic.length) != ArrivalTraceWriter.VERSION
+                || (size - ArrivalTraceWriter.HEADER_LENGTH) 
+                    % ArrivalTraceWriter.RECORD_LENGTH != 0) {
+                throw new IllegalArgumentException("not an arrival trace of version "
+                    + ArrivalTraceWriter.VERSION);
+            }
+            this.numOfRecords = (size - ArrivalTraceWriter.HEADER_LENGTH) 
+                / ArrivalTraceWriter.RECORD_LENGTH;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Returns the number of customers in the trace.
+     * @return number of customers in the trace
+     */
+    public long getNumOfRecords() {
+        return numOfRecords;
+    }
+
+    /**
+     * Maps the given records of the trace into memory.
+     * @param firstRecord index of the first record to be mapped
+     * @param count number of records to be mapped
+     * @return buffer of the records, the first at position 0
+     */
+    MappedByteBuffer map(long firstRecord, int count) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 
+                ArrivalTraceWriter.HEADER_LENGTH + firstRecord * ArrivalTraceWriter.RECORD_LENGTH,
+                (long) count * ArrivalTraceWriter.RECORD_LENGTH);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Closes the channel of the trace.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package cs2030.simulator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * ArrivalTraceWriter class writing recorded customer arrivals in the binary format read by
+ * ArrivalTrace, through a reusable byte buffer flushed to a channel.
+ * 
+ * <p>The file starts with the 4 bytes "DESA", a version byte and 3 zero bytes, followed 
+ * by one fixed-length record of 17 bytes per customer in order of arrival: the arrival 
+ * time as a double, the service time as a double (NaN if the service time is to be drawn 
+ * from the server's distribution) and a type byte (1 greedy, 0 typical).
+ */
+public class ArrivalTraceWriter implements AutoCloseable {
+    static final byte[] MAGIC = {'D', 'E', 'S', 'A'};
+    static final byte VERSION = 1;
+    static final int HEADER_LENGTH = 8;
+    static final int RECORD_LENGTH = 17;
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private double prevArrivalTime = 0;
+
+    /**
+     * Constructs an arrival trace writer with a 64 KiB buffer writing to the given channel.
+     * @param channel destination of the arrivals
+     */
+    public ArrivalTraceWriter(WritableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(DEFAULT_BUFFER_SIZE);
+        buffer.put(MAGIC).put(VERSION).put(new byte[HEADER_LENGTH - MAGIC.length - 1]);
+    }
+
+    /**
+     * Writes the arrival of the next customer, whose service time is drawn when served.
+     * @param arrivalTime time of arrival
+     * @param greedy true if the customer is a greedy customer
+     */
+    public void write(double arrivalTime, boolean greedy) {
+        write(arrivalTime, greedy, Double.NaN);
+    }
+
+    /**
+     * Writes the arrival of the next customer with the given service time.
+     * @param arrivalTime time of arrival, no earlier than that of the previous customer
+     * @param greedy true if the customer is a greedy customer
+     * @param serviceTime service time of the customer, NaN if drawn when served
+     * @throws IllegalArgumentException if the arrival time is earlier than the previous one
+     */
+    public void write(double arrivalTime, boolean greedy, double serviceTime) {
+        if (!(arrivalTime >= prevArrivalTime)) {
+            throw new IllegalArgumentException("arrival time " + arrivalTime 
+                + " before previous arrival time " + prevArrivalTime);
+        }
+        prevArrivalTime = arrivalTime;
+        if (buffer.remaining() < RECORD_LENGTH) {
+            flush();
+        }
+        buffer.putDouble(arrivalTime).putDouble(serviceTime).put((byte) (greedy ? 1 : 0));
+    }
+
+    /**
+     * Writes the buffered records to the channel.
+     */
+    public void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flushes the buffered records and closes the channel.
+     */
+    @Override
+    public void close() {
+        flush();
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
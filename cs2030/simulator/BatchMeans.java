@@ -0,0 +1,182 @@
+package cs2030.simulator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * BatchMeans class recording a series of observations in order (such as the waiting times
+ * of customers in order of service) as the means of consecutive batches of 5, from which
+ * the steady-state mean is estimated from a single run. The initial transient is detected
+ * by MSER-5 and deleted, and the confidence interval of the mean of the rest of the series
+ * is computed from the means of non-overlapping batches, which are nearly independent
+ * when the batches are long, unlike consecutive observations.
+ */
+public class BatchMeans {
+    /**
+     * Number of observations averaged into each recorded mean.
+     */
+    public static final int BATCH_SIZE = 5;
+
+    /**
+     * Number of batches of the estimate, enough for a stable confidence interval yet long
+     * enough batches for their means to be nearly independent.
+     */
+    public static final int DEFAULT_NUM_OF_BATCHES = 20;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // means of the complete batches of 5, in order
+    private double[] means;
+    private int numOfMeans;
+    // observations of the incomplete batch
+    private double partialSum;
+    private int partialCount;
+
+    /**
+     * Constructs an empty series.
+     */
+    BatchMeans() {
+        this.means = new double[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Records the next observation of the series.
+     * @param value observation
+     */
+    void add(double value) {
+        partialSum += value;
+        if (++partialCount == BATCH_SIZE) {
+            if (numOfMeans == means.length) {
+                means = Arrays.copyOf(means, 2 * means.length);
+            }
+            means[numOfMeans++] = partialSum / BATCH_SIZE;
+            partialSum = 0;
+            partialCount = 0;
+        }
+    }
+
+    /**
+     * Discards every observation recorded so far.
+     */
+    void clear() {
+        numOfMeans = 0;
+        partialSum = 0;
+        partialCount = 0;
+    }
+
+    /**
+     * Writes the series recorded so far.
+     * @param out destination of the series
+     * @throws IOException if the series cannot be written
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeInt(numOfMeans);
+        for (int i = 0; i < numOfMeans; i++) {
+            out.writeDouble(means[i]);
+        }
+        out.writeDouble(partialSum);
+        out.writeByte(partialCount);
+    }
+
+    /**
+     * Reads the series written by writeState into this empty series.
+     * @param in source of the series
+     * @throws IOException if the series cannot be read
+     */
+    void readState(DataInput in) throws IOException {
+        numOfMeans = in.readInt();
+        means = new double[Math.max(INITIAL_CAPACITY, numOfMeans)];
+        for (int i = 0; i < numOfMeans; i++) {
+            means[i] = in.readDouble();
+        }
+        partialSum = in.readDouble();
+        partialCount = in.readByte();
+    }
+
+    /**
+     * Returns the number of observations recorded, of which the observations of the last
+     * batch are only used by the estimates once the batch is complete.
+     * @return number of observations recorded
+     */
+    public int getNumOfObservations() {
+        return numOfMeans * BATCH_SIZE + partialCount;
+    }
+
+    /**
+     * Returns the number of initial observations to delete as the warm-up, chosen by
+     * MSER-5 as the truncation minimizing the marginal standard error of the mean of the
+     * rest of the series, among truncations of at most half the series. A truncation of
+     * about half the series suggests that the run is too short to reach steady state.
+     * @return number of initial observations to delete, a multiple of 5
+     */
+    public int getTruncation() {
+        return truncation() * BATCH_SIZE;
+    }
+
+    /**
+     * Returns the estimate of the steady-state mean of the series, after deleting the
+     * warm-up detected by MSER-5, with DEFAULT_NUM_OF_BATCHES batches.
+     * @return mean and 95% confidence interval of the rest of the series
+     */
+    public Estimate getEstimate() {
+        return getEstimate(DEFAULT_NUM_OF_BATCHES);
+    }
+
+    /**
+     * Returns the estimate of the steady-state mean of the series, after deleting the
+     * warm-up detected by MSER-5, from the means of the given number of batches of equal
+     * length (fewer if too few observations are left), where the earliest observations
+     * left over by the division into batches are also deleted.
+     * @param numOfBatches number of batches, at least 2 for a confidence interval
+     * @return mean and 95% confidence interval of the rest of the series
+     */
+    public Estimate getEstimate(int numOfBatches) {
+        int first = truncation();
+        int numLeft = numOfMeans - first;
+        int numOfEstimateBatches = Math.min(numOfBatches, numLeft);
+        if (numOfEstimateBatches == 0) {
+            return Estimate.of(new double[0]);
+        }
+        int batchLength = numLeft / numOfEstimateBatches;
+        first = numOfMeans - batchLength * numOfEstimateBatches;
+        double[] batchMeans = new double[numOfEstimateBatches];
+        for (int b = 0; b < numOfEstimateBatches; b++) {
+            double sum = 0;
+            for (int i = first + b * batchLength; i < first + (b + 1) * batchLength; i++) {
+                sum += means[i];
+            }
+            batchMeans[b] = sum / batchLength;
+        }
+        return Estimate.of(batchMeans);
+    }
+
+    // number of initial means to delete, minimizing the variance of the rest of the means
+    // divided by the square of their number, accumulated from the end of the series
+    private int truncation() {
+        if (numOfMeans < 2) {
+            return 0;
+        }
+        // deviations from the first mean, so that the sum of squares keeps its precision
+        double shift = means[0];
+        double sum = 0;
+        double sumOfSquares = 0;
+        int best = 0;
+        double bestStandardError = Double.POSITIVE_INFINITY;
+        for (int d = numOfMeans - 1; d >= 0; d--) {
+            double deviation = means[d] - shift;
+            sum += deviation;
+            sumOfSquares += deviation * deviation;
+            int n = numOfMeans - d;
+            if (d <= numOfMeans / 2) {
+                double standardError = (sumOfSquares - sum * sum / n) / ((double) n * n);
+                if (standardError <= bestStandardError) {
+                    bestStandardError = standardError;
+                    best = d;
+                }
+            }
+        }
+        return best;
+    }
+}
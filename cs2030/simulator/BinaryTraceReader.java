@@ -0,0 +1,137 @@
+package cs2030.simulator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * BinaryTraceReader class streaming the records of a binary trace written by 
+ * BinaryTraceWriter from a channel, one buffer at a time, so that traces of any size can
+ * be analysed or decoded back into the text trace.
+ */
+public class BinaryTraceReader implements Iterator<TraceRecord>, AutoCloseable {
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final State[] STATES = State.values();
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private boolean endOfChannel = false;
+    private long prevThousandths = 0;
+    private int prevCustomerId = 0;
+
+    /**
+     * Constructs a reader of the binary trace from the given channel.
+     * @param channel source of the trace
+     * @throws IllegalArgumentException if the channel does not start with a binary trace
+     */
+    public BinaryTraceReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(DEFAULT_BUFFER_SIZE);
+        buffer.flip();
+        fill();
+        byte[] magic = new byte[BinaryTraceWriter.MAGIC.length];
+        if (buffer.remaining() < magic.length + 1) {
+            throw new IllegalArgumentException("not a binary trace");
+        }
+        buffer.get(magic);
+        byte version = buffer.get();
+        if (!Arrays.equals(magic, BinaryTraceWriter.MAGIC) 
+            || version != BinaryTraceWriter.VERSION) {
+            throw new IllegalArgumentException("not a binary trace of version " 
+                + BinaryTraceWriter.VERSION);
+        }
+    }
+
+    /**
+     * Writes the text trace of the binary trace from the given channel, 
+     * one line per record.
+     * @param channel source of the binary trace
+     * @param out destination of the text trace
+     */
+    public static void decode(ReadableByteChannel channel, TraceWriter out) {
+        try (BinaryTraceReader reader = new BinaryTraceReader(channel)) {
+            while (reader.hasNext()) {
+                out.writeLine(reader.next().toString());
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (buffer.remaining() < BinaryTraceWriter.MAX_RECORD_LENGTH) {
+            fill();
+        }
+        return buffer.hasRemaining();
+    }
+
+    @Override
+    public TraceRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int tag = buffer.get();
+        long thousandths = Fixed3.NOT_APPLICABLE;
+        double time = 0;
+        if ((tag & BinaryTraceWriter.RAW_TIME) != 0) {
+            time = buffer.getDouble();
+        } else {
+            thousandths = prevThousandths + unzigzag(getVarLong());
+            prevThousandths = thousandths;
+        }
+        int customerId = (int) (prevCustomerId + unzigzag(getVarLong()));
+        prevCustomerId = customerId;
+        int serverKind = (tag & BinaryTraceWriter.SERVER_MASK) >> BinaryTraceWriter.SERVER_SHIFT;
+        int serverId = serverKind == 0 ? 0 : (int) getVarLong();
+        return new TraceRecord(thousandths, time, customerId, 
+            (tag & BinaryTraceWriter.GREEDY) != 0, 
+            STATES[tag & BinaryTraceWriter.STATE_MASK], serverId, 
+            serverKind == BinaryTraceWriter.SELF_CHECK_OUT);
+    }
+
+    /**
+     * Closes the channel.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // tops up the buffer from the channel, keeping unread bytes
+    private void fill() {
+        buffer.compact();
+        try {
+            while (!endOfChannel && buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    endOfChannel = true;
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        buffer.flip();
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long getVarLong() {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
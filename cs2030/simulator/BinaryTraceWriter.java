@@ -0,0 +1,142 @@
+package cs2030.simulator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * BinaryTraceWriter class writing the trace of events in a compact binary format through
+ * a reusable byte buffer flushed to a channel. The trace holds the same information as the
+ * text trace (times in thousandths as printed), and is read back by BinaryTraceReader.
+ * 
+ * <p>The trace starts with the 4 bytes "DEST" and a version byte, followed by one record
+ * per event: a tag byte (bits 0-2 state ordinal, bit 3 greedy customer, bits 4-5 server
+ * kind: 0 none, 1 human server, 2 self-checkout, bit 6 raw time), the time as a zigzag 
+ * varint of the change in thousandths since the previous record (or 8 bytes of the raw 
+ * double if the time is not a plain number of thousandths, such as Infinity), the customer 
+ * id as a zigzag varint of the change since the previous record and, if there is a server, 
+ * the server id as a varint.
+ */
+public class BinaryTraceWriter implements AutoCloseable {
+    static final byte[] MAGIC = {'D', 'E', 'S', 'T'};
+    static final byte VERSION = 1;
+
+    static final int STATE_MASK = 0x07;
+    static final int GREEDY = 0x08;
+    static final int SERVER_SHIFT = 4;
+    static final int SERVER_MASK = 0x30;
+    static final int HUMAN_SERVER = 1;
+    static final int SELF_CHECK_OUT = 2;
+    static final int RAW_TIME = 0x40;
+    // tag, 10-byte time, two 5-byte ids
+    static final int MAX_RECORD_LENGTH = 21;
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private long prevThousandths = 0;
+    private int prevCustomerId = 0;
+
+    /**
+     * Constructs a binary trace writer with a 64 KiB buffer writing to the given channel.
+     * @param channel destination of the trace
+     */
+    public BinaryTraceWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a binary trace writer with a buffer of the given size writing to the 
+     * given channel.
+     * @param channel destination of the trace
+     * @param bufferSize size of the buffer in bytes
+     */
+    public BinaryTraceWriter(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, MAX_RECORD_LENGTH));
+        buffer.put(MAGIC).put(VERSION);
+    }
+
+    /**
+     * Writes the record of the given event, skipping rest and back events
+     * which are not part of the trace.
+     * @param e event to be written
+     */
+    public void write(Event e) {
+        if (e.isRestEvent() || e.isBackEvent()) {
+            return;
+        }
+        if (buffer.remaining() < MAX_RECORD_LENGTH) {
+            flush();
+        }
+        Customer customer = e.getCustomer();
+        Server server = e.getServer();
+        long thousandths = Fixed3.thousandths(e.getTime());
+
+        int tag = customer.getState().ordinal();
+        if (customer.isGreedy()) {
+            tag |= GREEDY;
+        }
+        if (server != null) {
+            tag |= (server.isSelfCheckOut() ? SELF_CHECK_OUT : HUMAN_SERVER) << SERVER_SHIFT;
+        }
+        if (thousandths == Fixed3.NOT_APPLICABLE) {
+            tag |= RAW_TIME;
+        }
+        buffer.put((byte) tag);
+
+        if (thousandths == Fixed3.NOT_APPLICABLE) {
+            buffer.putDouble(e.getTime());
+        } else {
+            putVarLong(zigzag(thousandths - prevThousandths));
+            prevThousandths = thousandths;
+        }
+        putVarLong(zigzag(customer.getId() - prevCustomerId));
+        prevCustomerId = customer.getId();
+        if (server != null) {
+            putVarLong(server.id);
+        }
+    }
+
+    /**
+     * Writes everything buffered so far to the channel.
+     */
+    public void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flushes the buffer and closes the channel.
+     */
+    @Override
+    public void close() {
+        flush();
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private void putVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+}
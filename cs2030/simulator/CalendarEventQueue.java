@@ -0,0 +1,245 @@
+package cs2030.simulator;
+
+import java.util.Arrays;
+
+/**
+ * CalendarEventQueue class implementing the event queue as a calendar queue (R. Brown, 1988),
+ * where events are hashed by time into a circular array of buckets ("days") of a fixed width,
+ * each holding a list of events sorted by time then customer id. Polling walks the buckets
+ * one day at a time, so adding and polling take O(1) expected time regardless of the number
+ * of pending events.
+ * 
+ * <p>The number of buckets doubles or halves as the queue grows or shrinks, and on every
+ * resize the bucket width is re-estimated from the separation between the earliest pending
+ * events, so that it follows the inter-event times actually drawn by the RandomGenerator.
+ * Events are held in a pool of primitive nodes, so that the queue allocates nothing between
+ * resizes.
+ */
+public class CalendarEventQueue implements EventQueue {
+    private static final int MIN_BUCKETS = 2;
+    private static final int NUM_OF_SAMPLES = 25;
+    private static final int NIL = -1;
+
+    // calendar
+    private int[] heads;
+    private double width;
+    private int size;
+    private long currDay;
+    private final int[] samples;
+
+    // node pool, node i is (nodeTimes[i], nodeIds[i], nodeEvents[i]) in list of nodeDays[i]
+    private double[] nodeTimes;
+    private int[] nodeIds;
+    private long[] nodeDays;
+    private int[] nodeNext;
+    private Event[] nodeEvents;
+    private int freeNode;
+
+    /**
+     * Constructs an empty calendar queue with a bucket width of 1.
+     */
+    public CalendarEventQueue() {
+        this(1.0);
+    }
+
+    /**
+     * Constructs an empty calendar queue with the given initial bucket width, such as the
+     * mean inter-arrival time of customers. The width is re-estimated as the queue resizes.
+     * @param width initial width (in simulated time) of each bucket
+     */
+    public CalendarEventQueue(double width) {
+        this.width = (width > 0 && !Double.isInfinite(width)) ? width : 1.0;
+        this.heads = newBuckets(MIN_BUCKETS);
+        this.size = 0;
+        this.currDay = 0;
+        this.samples = new int[NUM_OF_SAMPLES];
+        this.nodeTimes = new double[0];
+        this.nodeIds = new int[0];
+        this.nodeDays = new long[0];
+        this.nodeNext = new int[0];
+        this.nodeEvents = new Event[0];
+        this.freeNode = NIL;
+        growNodes();
+    }
+
+    @Override
+    public void add(Event event) {
+        if (freeNode == NIL) {
+            growNodes();
+        }
+        int node = freeNode;
+        freeNode = nodeNext[node];
+        nodeTimes[node] = event.getTime();
+        nodeIds[node] = event.getCustomer().getId();
+        nodeEvents[node] = event;
+        insert(node);
+        if (size > 2 * heads.length) {
+            resize(heads.length * 2);
+        }
+    }
+
+    @Override
+    public Event poll() {
+        if (size == 0) {
+            return null;
+        }
+        int node = removeFirst();
+        Event event = nodeEvents[node];
+        nodeEvents[node] = null;
+        nodeNext[node] = freeNode;
+        freeNode = node;
+        if (size < heads.length / 2 && heads.length > MIN_BUCKETS) {
+            resize(heads.length / 2);
+        }
+        return event;
+    }
+
+    @Override
+    public Event peek() {
+        return size == 0 ? null : nodeEvents[heads[findFirstBucket()]];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // day (virtual bucket number) of the given time
+    private long dayOf(double time) {
+        return (long) (time / width);
+    }
+
+    // returns true if node a is polled before node b
+    private boolean isBefore(int a, int b) {
+        return nodeTimes[a] < nodeTimes[b]
+            || (nodeTimes[a] == nodeTimes[b] && nodeIds[a] < nodeIds[b]);
+    }
+
+    // links the given node into the sorted list of its bucket
+    private void insert(int node) {
+        long day = dayOf(nodeTimes[node]);
+        nodeDays[node] = day;
+        if (size == 0 || day < currDay) {
+            // event before the current day -> rewind the calendar
+            currDay = day;
+        }
+        int bucket = (int) (day & (heads.length - 1));
+        int prev = NIL;
+        int curr = heads[bucket];
+        // events with equal time and id stay in insertion order
+        while (curr != NIL && !isBefore(node, curr)) {
+            prev = curr;
+            curr = nodeNext[curr];
+        }
+        nodeNext[node] = curr;
+        if (prev == NIL) {
+            heads[bucket] = node;
+        } else {
+            nodeNext[prev] = node;
+        }
+        size++;
+    }
+
+    // unlinks and returns the first node of the queue
+    private int removeFirst() {
+        int bucket = findFirstBucket();
+        int node = heads[bucket];
+        heads[bucket] = nodeNext[node];
+        size--;
+        return node;
+    }
+
+    // advances the calendar to the day of the first event and returns its bucket
+    private int findFirstBucket() {
+        int mask = heads.length - 1;
+        for (int i = 0; i < heads.length; i++) {
+            int bucket = (int) (currDay & mask);
+            int head = heads[bucket];
+            if (head != NIL && nodeDays[head] <= currDay) {
+                return bucket;
+            }
+            currDay++;
+        }
+        // no event within a year of the current day -> jump to the earliest event
+        int first = NIL;
+        for (int head : heads) {
+            if (head != NIL && (first == NIL || isBefore(head, first))) {
+                first = head;
+            }
+        }
+        currDay = nodeDays[first];
+        return (int) (currDay & mask);
+    }
+
+    // re-estimates the bucket width and rehashes all events into the given number of buckets
+    private void resize(int numOfBuckets) {
+        // sample the earliest events in order
+        int numOfSamples = Math.min(size, NUM_OF_SAMPLES);
+        for (int i = 0; i < numOfSamples; i++) {
+            samples[i] = removeFirst();
+        }
+        double newWidth = estimateWidth(numOfSamples);
+
+        int[] oldHeads = heads;
+        heads = newBuckets(numOfBuckets);
+        width = newWidth;
+        size = 0;
+        for (int i = 0; i < numOfSamples; i++) {
+            insert(samples[i]);
+        }
+        for (int head : oldHeads) {
+            int node = head;
+            while (node != NIL) {
+                int next = nodeNext[node];
+                insert(node);
+                node = next;
+            }
+        }
+    }
+
+    // three times the mean separation of the sampled events, ignoring outlying separations
+    private double estimateWidth(int numOfSamples) {
+        if (numOfSamples < 2) {
+            return width;
+        }
+        double first = nodeTimes[samples[0]];
+        double last = nodeTimes[samples[numOfSamples - 1]];
+        double avgSeparation = (last - first) / (numOfSamples - 1);
+        double totalSeparation = 0;
+        int numOfSeparations = 0;
+        for (int i = 1; i < numOfSamples; i++) {
+            double separation = nodeTimes[samples[i]] - nodeTimes[samples[i - 1]];
+            if (separation <= 2 * avgSeparation) {
+                totalSeparation += separation;
+                numOfSeparations++;
+            }
+        }
+        double newWidth = 3 * totalSeparation / numOfSeparations;
+        if (numOfSeparations == 0 || !(newWidth > 0) || Double.isInfinite(newWidth)) {
+            // all sampled events at the same time, or at infinity -> keep the current width
+            return width;
+        }
+        return newWidth;
+    }
+
+    private static int[] newBuckets(int numOfBuckets) {
+        int[] buckets = new int[numOfBuckets];
+        Arrays.fill(buckets, NIL);
+        return buckets;
+    }
+
+    // doubles the node pool and chains the new nodes into the free list
+    private void growNodes() {
+        int oldCapacity = nodeTimes.length;
+        int newCapacity = Math.max(oldCapacity * 2, 16);
+        nodeTimes = Arrays.copyOf(nodeTimes, newCapacity);
+        nodeIds = Arrays.copyOf(nodeIds, newCapacity);
+        nodeDays = Arrays.copyOf(nodeDays, newCapacity);
+        nodeNext = Arrays.copyOf(nodeNext, newCapacity);
+        nodeEvents = Arrays.copyOf(nodeEvents, newCapacity);
+        for (int i = newCapacity - 1; i >= oldCapacity; i--) {
+            nodeNext[i] = freeNode;
+            freeNode = i;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package cs2030.simulator;
+
+/**
+ * Checkpoint class representing a snapshot of a Simulator saved by a Checkpointer, 
+ * together with the position its trace had reached when the snapshot was taken, so that
+ * the trace of the resumed simulation can be joined to the trace written up to there.
+ */
+public class Checkpoint {
+    private final byte[] snapshot;
+    private final long numOfTraceLines;
+    private final long numOfTraceBytes;
+
+    /**
+     * Constructs a checkpoint of the given snapshot and trace position.
+     * @param snapshot snapshot returned by Simulator.snapshot
+     * @param numOfTraceLines number of lines of the trace written before the snapshot
+     * @param numOfTraceBytes number of bytes of the trace written before the snapshot
+     */
+    Checkpoint(byte[] snapshot, long numOfTraceLines, long numOfTraceBytes) {
+        this.snapshot = snapshot;
+        this.numOfTraceLines = numOfTraceLines;
+        this.numOfTraceBytes = numOfTraceBytes;
+    }
+
+    /**
+     * Returns the snapshot of the simulator, to restore with Simulator.restore.
+     * @return snapshot of the simulator
+     */
+    public byte[] getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the number of lines of the trace written before the snapshot, 0 if the
+     * checkpointer saved no trace position.
+     * @return number of lines of the trace
+     */
+    public long getNumOfTraceLines() {
+        return numOfTraceLines;
+    }
+
+    /**
+     * Returns the number of bytes of the trace written before the snapshot, 0 if the
+     * checkpointer saved no trace position.
+     * @return number of bytes of the trace
+     */
+    public long getNumOfTraceBytes() {
+        return numOfTraceBytes;
+    }
+}
@@ -0,0 +1,210 @@
+package cs2030.simulator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Checkpointer class periodically saving snapshots of a running Simulator to a file,
+ * every given interval of simulated time and/or of wall-clock time, so that a long run
+ * can be resumed after it is interrupted (see Simulator.restore).
+ *
+ * <p>A snapshot is captured in memory between two events, and written to the file on a
+ * background thread while the simulation goes on. It is first written to a temporary
+ * file next to the file, which then replaces the file atomically, so that the file always
+ * holds a complete snapshot.
+ *
+ * <p>If the simulation writes a trace, the trace is flushed before each snapshot is taken,
+ * and its position (in lines and bytes) is saved with the snapshot, so that the output of
+ * an interrupted run can be truncated to that position and joined to the output of the
+ * resumed run. The file holds the number of lines and of bytes of the trace, as two longs,
+ * followed by the snapshot.
+ */
+public class Checkpointer implements AutoCloseable {
+    // events between two readings of the wall clock
+    private static final int CLOCK_EVENTS = 1024;
+    // bytes of the trace position at the start of the file
+    private static final int HEADER_LENGTH = 2 * Long.BYTES;
+
+    private final Path file;
+    private final Path tmpFile;
+    private final double simulatedTimeInterval;
+    private final long wallClockIntervalNanos;
+    private final ExecutorService writer;
+    // trace of the simulation, null if none
+    private final TraceWriter trace;
+    private Future<?> pendingWrite = null;
+
+    private double nextSimulatedTime;
+    private long nextWallClockTime;
+    private int eventsToClock = CLOCK_EVENTS;
+
+    /**
+     * Constructs a checkpointer saving snapshots to the given file.
+     * @param file file to save snapshots to
+     * @param simulatedTimeInterval simulated time between snapshots, not positive to only
+     *     save snapshots by wall-clock time
+     * @param wallClockIntervalMillis milliseconds between snapshots, not positive to only
+     *     save snapshots by simulated time
+     */
+    public Checkpointer(Path file, double simulatedTimeInterval,
+        long wallClockIntervalMillis) {
+        this(file, simulatedTimeInterval, wallClockIntervalMillis, null);
+    }
+
+    /**
+     * Constructs a checkpointer saving snapshots to the given file, together with the 
+     * position of the given trace of the simulation.
+     * @param file file to save snapshots to
+     * @param simulatedTimeInterval simulated time between snapshots, not positive to only
+     *     save snapshots by wall-clock time
+     * @param wallClockIntervalMillis milliseconds between snapshots, not positive to only
+     *     save snapshots by simulated time
+     * @param trace trace of the simulation, flushed before each snapshot, null if none
+     */
+    public Checkpointer(Path file, double simulatedTimeInterval,
+        long wallClockIntervalMillis, TraceWriter trace) {
+        this.file = file;
+        this.trace = trace;
+        this.tmpFile = Paths.get(file + ".tmp");
+        this.simulatedTimeInterval = simulatedTimeInterval;
+        this.wallClockIntervalNanos = wallClockIntervalMillis * 1_000_000;
+        this.nextSimulatedTime = simulatedTimeInterval > 0
+            ? simulatedTimeInterval : Double.POSITIVE_INFINITY;
+        this.nextWallClockTime = System.nanoTime() + wallClockIntervalNanos;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "checkpointer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Saves a snapshot of the simulator if an interval has elapsed since the last one.
+     * To be called after each event the simulator processes.
+     * @param sim simulator to save
+     * @throws UncheckedIOException if the previous snapshot could not be written
+     */
+    public void afterEvent(Simulator sim) {
+        double time = sim.getStatistics().getTime();
+        boolean due = time >= nextSimulatedTime && time != Double.POSITIVE_INFINITY;
+        if (wallClockIntervalNanos > 0 && --eventsToClock == 0) {
+            eventsToClock = CLOCK_EVENTS;
+            due |= System.nanoTime() - nextWallClockTime >= 0;
+        }
+        if (due) {
+            checkpoint(sim);
+        }
+    }
+
+    /**
+     * Saves a snapshot of the simulator now, and restarts both intervals.
+     * @param sim simulator to save
+     * @throws UncheckedIOException if the previous snapshot could not be written
+     */
+    public void checkpoint(Simulator sim) {
+        awaitPendingWrite();
+        // the trace is written out up to its saved position before the snapshot is saved
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        if (trace != null) {
+            trace.flush();
+            header.putLong(trace.getNumOfLines()).putLong(trace.getNumOfBytes());
+        }
+        header.clear();
+        byte[] snapshot = sim.snapshot();
+        pendingWrite = writer.submit(() -> write(header, snapshot));
+
+        double time = sim.getStatistics().getTime();
+        if (simulatedTimeInterval > 0) {
+            while (nextSimulatedTime <= time) {
+                nextSimulatedTime += simulatedTimeInterval;
+            }
+        }
+        nextWallClockTime = System.nanoTime() + wallClockIntervalNanos;
+    }
+
+    /**
+     * Waits for the last snapshot to be written and stops the background thread.
+     * @throws UncheckedIOException if the last snapshot could not be written
+     */
+    @Override
+    public void close() {
+        try {
+            awaitPendingWrite();
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    /**
+     * Reads the checkpoint saved in the given file.
+     * @param file file of a checkpoint
+     * @return snapshot to restore with Simulator.restore, and position of its trace
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is too short to be a checkpoint
+     */
+    public static Checkpoint read(Path file) {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (bytes.length < HEADER_LENGTH) {
+            throw new IllegalArgumentException("truncated checkpoint");
+        }
+        ByteBuffer header = ByteBuffer.wrap(bytes, 0, HEADER_LENGTH);
+        return new Checkpoint(Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length),
+            header.getLong(), header.getLong());
+    }
+
+    private void write(ByteBuffer header, byte[] snapshot) {
+        try (FileChannel channel = FileChannel.open(tmpFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer[] buffers = {header, ByteBuffer.wrap(snapshot)};
+            while (buffers[1].hasRemaining()) {
+                channel.write(buffers);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            Files.move(tmpFile, file, StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void awaitPendingWrite() {
+        if (pendingWrite == null) {
+            return;
+        }
+        try {
+            pendingWrite.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while writing a snapshot", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw (UncheckedIOException) cause;
+            }
+            throw new IllegalStateException("failed to write a snapshot", cause);
+        } finally {
+            pendingWrite = null;
+        }
+    }
+}
@@ -2,58 +2,57 @@ package cs2030.simulator;
 
 /**
  *Abstract Customer class representing customers where each customer has
- *his/her own unique id, state and arrivalTime.
+ *his/her own id (unique within a simulator), state and arrivalTime.
  */
 public abstract class Customer {
-    protected final int id;
-    private static int totalCount = 0;
-    protected final State state;
-    protected final double arrivalTime;
+    protected int id;
+    protected State state;
+    protected double arrivalTime;
+    // recorded service time of the customer, NaN if drawn when the customer is served
+    protected double serviceTime;
 
     /**
-     * Constructor for concrete sub-classes to create a new customer with an identifier 
-     * id indexed from 1, in the order they are created.
+     * Constructor for concrete sub-classes to create a customer with the given identifier,
+     * where customers of a simulator are indexed from 1 in the order they arrive.
      * @param arrivalTime customer's time of arrival
+     * @param id customer's identifier
      * @param state State of the customer (State.ARRIVES/SERVED/WAITS/LEAVES/DONE)
      */ 
     // constructor
-    public Customer(double arrivalTime, State state) {
-        // new customer
-        this.id = totalCount + 1;
-        totalCount++;
-        this.state = state;
-        this.arrivalTime = arrivalTime;
+    protected Customer(double arrivalTime, int id, State state) {
+        this(arrivalTime, id, state, Double.NaN);
     }
 
-    protected Customer(double arrivalTime, int id, State state) {
-        // existing customer changing state -> totalCount stays the same
+    /**
+     * Constructor for concrete sub-classes to create a customer with the given identifier
+     * and recorded service time.
+     * @param arrivalTime customer's time of arrival
+     * @param id customer's identifier
+     * @param state State of the customer (State.ARRIVES/SERVED/WAITS/LEAVES/DONE)
+     * @param serviceTime customer's service time, NaN if drawn when the customer is served
+     */
+    protected Customer(double arrivalTime, int id, State state, double serviceTime) {
         this.id = id;
         this.state = state;
         this.arrivalTime = arrivalTime;
+        this.serviceTime = serviceTime;
     }
 
     /**
      * Constructor for concrete sub-classes to create a customer object with id = 0 as 
-     * a place-holder for Rest and Back Events, does not affect totalCount and subsequent 
-     * indexing of customers.
+     * a place-holder for Rest and Back Events, does not affect subsequent indexing
+     * of customers.
      */
     public Customer() {
         // Customer of id 0 for use by Rest and Back events for correct priority order
         this.id = 0;
         this.state = null;
         this.arrivalTime = 0;
+        this.serviceTime = Double.NaN;
     }
 
 
     // getters
-    /**
-     * Static method for retrieving total number of Customers created.
-     * @return total number of Customers created
-     */
-    public static int getTotalCount() {
-        return totalCount;
-    }
-
     public int getId() {
         return id;
     }
@@ -65,6 +64,15 @@ public abstract class Customer {
     public double getArrivalTime() {
         return arrivalTime;
     }
+
+    /**
+     * Returns the recorded service time of this customer (e.g. from an ArrivalTrace), NaN
+     * if the service time is drawn from the server's distribution when served.
+     * @return recorded service time, NaN if none
+     */
+    double getServiceTime() {
+        return serviceTime;
+    }
     
     /**
      * Returns a new Customer of the same type and id with the given state.
@@ -73,6 +81,34 @@ public abstract class Customer {
      */
     public abstract Customer setState(State state);
 
+    /**
+     * Changes the state of this customer in place and returns this customer, for use by 
+     * pooled events only where each customer has at most one pending event at a time.
+     * @param state customer's new state
+     * @return this customer in the given state
+     */
+    Customer changeState(State state) {
+        this.state = state;
+        return this;
+    }
+
+    /**
+     * Reuses this customer object as a newly created customer with the given id, for use
+     * by pooled events only once this customer has no more pending events.
+     * @param arrivalTime new customer's time of arrival
+     * @param id new customer's identifier
+     * @param state State of the new customer
+     * @param serviceTime new customer's service time, NaN if drawn when served
+     * @return this customer as a new customer
+     */
+    Customer recycle(double arrivalTime, int id, State state, double serviceTime) {
+        this.id = id;
+        this.state = state;
+        this.arrivalTime = arrivalTime;
+        this.serviceTime = serviceTime;
+        return this;
+    }
+
     abstract boolean isGreedy();
 
     abstract boolean isTypical();
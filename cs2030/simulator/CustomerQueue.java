@@ -0,0 +1,83 @@
+package cs2030.simulator;
+
+/**
+ * CustomerQueue class representing a fixed-capacity first-in-first-out queue of waiting
+ * customers, backed by a ring buffer allocated once, so that waitlisting and serving 
+ * customers allocate nothing.
+ */
+class CustomerQueue {
+    private final Customer[] customers;
+    private int head;
+    private int size;
+
+    /**
+     * Constructs an empty queue that can hold up to the given number of customers.
+     * @param capacity maximum number of customers in the queue
+     */
+    CustomerQueue(int capacity) {
+        this.customers = new Customer[capacity];
+        this.head = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Constructs a queue of the same capacity holding the same customers as the given queue.
+     * @param other queue to be copied
+     */
+    CustomerQueue(CustomerQueue other) {
+        this.customers = other.customers.clone();
+        this.head = other.head;
+        this.size = other.size;
+    }
+
+    /**
+     * Adds the given customer to the back of the queue.
+     * @param customer customer to be added
+     * @throws IllegalStateException if the queue is full
+     */
+    void add(Customer customer) {
+        if (size == customers.length) {
+            throw new IllegalStateException("customer queue is full");
+        }
+        int tail = head + size;
+        customers[tail < customers.length ? tail : tail - customers.length] = customer;
+        size++;
+    }
+
+    /**
+     * Removes and returns the customer at the front of the queue, null if queue is empty.
+     * @return customer at the front of the queue, null if queue is empty
+     */
+    Customer poll() {
+        if (size == 0) {
+            return null;
+        }
+        Customer customer = customers[head];
+        customers[head] = null;
+        head = head + 1 < customers.length ? head + 1 : 0;
+        size--;
+        return customer;
+    }
+
+    /**
+     * Returns the customer at the front of the queue, null if queue is empty.
+     * @return customer at the front of the queue, null if queue is empty
+     */
+    Customer peek() {
+        return size == 0 ? null : customers[head];
+    }
+
+    /**
+     * Returns the customer at the given position from the front of the queue.
+     * @param i position from the front, from 0 to size() - 1
+     * @return customer at the given position
+     */
+    Customer get(int i) {
+        int index = head + i;
+        return customers[index < customers.length ? index : index - customers.length];
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,32 @@
+package cs2030.simulator;
+
+import java.util.Arrays;
+
+/**
+ * DeterministicDistribution class, implementing Distribution, representing a constant
+ * duration.
+ */
+final class DeterministicDistribution implements Distribution {
+    private final double value;
+
+    /**
+     * Constructs the distribution of the given constant.
+     * @param value value of every variate
+     */
+    DeterministicDistribution(double value) {
+        if (!(value >= 0)) {
+            throw new IllegalArgumentException("value must be non-negative: " + value);
+        }
+        this.value = value;
+    }
+
+    @Override
+    public double sample(RandomStream stream) {
+        return value;
+    }
+
+    @Override
+    public void fill(RandomStream stream, double[] block) {
+        Arrays.fill(block, value);
+    }
+}
@@ -0,0 +1,89 @@
+package cs2030.simulator;
+
+/**
+ * Distribution interface representing the distribution of a random duration of the 
+ * simulator (inter-arrival times, service times or rest periods), whose variates are
+ * drawn from the uniforms of a RandomStream.
+ * Every implementation is a final class filling whole blocks of variates in its own loop, 
+ * so the only call that may dispatch to several distributions is the one per block, and 
+ * sampling within the loop is inlined by the JIT.
+ */
+public interface Distribution {
+    /**
+     * Draws one variate from the given stream.
+     * @param stream stream of uniforms
+     * @return variate of this distribution
+     */
+    double sample(RandomStream stream);
+
+    /**
+     * Fills the given block with variates drawn from the given stream.
+     * @param stream stream of uniforms
+     * @param block block to be filled
+     */
+    void fill(RandomStream stream, double[] block);
+
+    /**
+     * Returns the exponential distribution of the given rate, whose variates are 
+     * -ln(U) / rate for uniform U, as drawn by the original RandomGenerator.
+     * @param rate rate of the distribution
+     * @return exponential distribution
+     */
+    static Distribution exponential(double rate) {
+        return new ExponentialDistribution(rate);
+    }
+
+    /**
+     * Returns the distribution of the given constant, which draws no uniforms.
+     * @param value value of every variate
+     * @return deterministic distribution
+     */
+    static Distribution deterministic(double value) {
+        return new DeterministicDistribution(value);
+    }
+
+    /**
+     * Returns the Erlang distribution of the given shape and rate, being the sum of k
+     * independent exponential variates of the given rate (mean k / rate).
+     * @param k shape of the distribution
+     * @param rate rate of each exponential phase
+     * @return Erlang distribution
+     */
+    static Distribution erlang(int k, double rate) {
+        return new ErlangDistribution(k, rate);
+    }
+
+    /**
+     * Returns the lognormal distribution whose logarithm is normal with the given mean and
+     * standard deviation.
+     * @param mu mean of the logarithm of the variates
+     * @param sigma standard deviation of the logarithm of the variates
+     * @return lognormal distribution
+     */
+    static Distribution lognormal(double mu, double sigma) {
+        return new LognormalDistribution(mu, sigma);
+    }
+
+    /**
+     * Returns the empirical distribution taking each given value with probability 
+     * proportional to its weight, sampled in constant time by an alias table.
+     * @param values values of the distribution
+     * @param weights weight of each value
+     * @return discrete empirical distribution
+     */
+    static Distribution discrete(double[] values, double[] weights) {
+        return EmpiricalDistribution.discrete(values, weights);
+    }
+
+    /**
+     * Returns the empirical distribution of a histogram, taking a value in bin i, being 
+     * [edges[i], edges[i + 1]), with probability proportional to weights[i], uniformly 
+     * within the bin, sampled in constant time by an alias table.
+     * @param edges increasing edges of the bins, one more than the number of bins
+     * @param weights weight (e.g. count) of each bin
+     * @return histogram distribution
+     */
+    static Distribution histogram(double[] edges, double[] weights) {
+        return EmpiricalDistribution.histogram(edges, weights);
+    }
+}
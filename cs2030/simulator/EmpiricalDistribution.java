@@ -0,0 +1,134 @@
+package cs2030.simulator;
+
+/**
+ * EmpiricalDistribution class, implementing Distribution, representing a distribution 
+ * over n values or histogram bins, sampled from one uniform in constant time by Vose's 
+ * alias method. Bin i is first taken with probability probs[i] (and its alias otherwise)
+ * and the rest of the uniform places the variate within the chosen bin.
+ */
+final class EmpiricalDistribution implements Distribution {
+    private final int n;
+    // lower edge (or value) and width (0 for values) of each bin
+    private final double[] lowers;
+    private final double[] widths;
+    private final double[] probs;
+    private final int[] aliases;
+
+    private EmpiricalDistribution(double[] lowers, double[] widths, double[] weights) {
+        this.n = weights.length;
+        this.lowers = lowers;
+        this.widths = widths;
+        this.probs = new double[n];
+        this.aliases = new int[n];
+        buildAliasTable(weights);
+    }
+
+    /**
+     * Creates the distribution taking each given value with probability proportional to
+     * its weight.
+     * @param values values of the distribution
+     * @param weights weight of each value
+     * @return discrete empirical distribution
+     */
+    static EmpiricalDistribution discrete(double[] values, double[] weights) {
+        if (values.length != weights.length) {
+            throw new IllegalArgumentException("need one weight per value");
+        }
+        return new EmpiricalDistribution(values.clone(), new double[values.length], 
+            weights);
+    }
+
+    /**
+     * Creates the distribution of the given histogram, uniform within each bin.
+     * @param edges increasing edges of the bins, one more than the number of bins
+     * @param weights weight of each bin
+     * @return histogram distribution
+     */
+    static EmpiricalDistribution histogram(double[] edges, double[] weights) {
+        if (edges.length != weights.length + 1) {
+            throw new IllegalArgumentException("need one more edge than weights");
+        }
+        double[] lowers = new double[weights.length];
+        double[] widths = new double[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            if (!(edges[i] < edges[i + 1])) {
+                throw new IllegalArgumentException("edges must be increasing");
+            }
+            lowers[i] = edges[i];
+            widths[i] = edges[i + 1] - edges[i];
+        }
+        return new EmpiricalDistribution(lowers, widths, weights);
+    }
+
+    private void buildAliasTable(double[] weights) {
+        double sum = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("invalid weight: " + weight);
+            }
+            sum += weight;
+        }
+        if (!(sum > 0)) {
+            throw new IllegalArgumentException("weights must not all be zero");
+        }
+
+        // bins scaled to mean 1, split into those below and those at least 1
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int numOfSmall = 0;
+        int numOfLarge = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / sum;
+            if (scaled[i] < 1) {
+                small[numOfSmall++] = i;
+            } else {
+                large[numOfLarge++] = i;
+            }
+        }
+        // each small bin is topped up to 1 by a large bin
+        while (numOfSmall > 0 && numOfLarge > 0) {
+            int less = small[--numOfSmall];
+            int more = large[--numOfLarge];
+            probs[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            if (scaled[more] < 1) {
+                small[numOfSmall++] = more;
+            } else {
+                large[numOfLarge++] = more;
+            }
+        }
+        // remaining bins are 1 up to rounding
+        while (numOfLarge > 0) {
+            int i = large[--numOfLarge];
+            probs[i] = 1;
+            aliases[i] = i;
+        }
+        while (numOfSmall > 0) {
+            int i = small[--numOfSmall];
+            probs[i] = 1;
+            aliases[i] = i;
+        }
+    }
+
+    @Override
+    public double sample(RandomStream stream) {
+        double u = stream.nextDouble() * n;
+        int i = Math.min((int) u, n - 1);
+        double fraction = u - i;
+        double prob = probs[i];
+        if (fraction < prob) {
+            return lowers[i] + widths[i] * (fraction / prob);
+        }
+        int alias = aliases[i];
+        return lowers[alias] + widths[alias] * ((fraction - prob) / (1 - prob));
+    }
+
+    @Override
+    public void fill(RandomStream stream, double[] block) {
+        for (int i = 0; i < block.length; i++) {
+            block[i] = sample(stream);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package cs2030.simulator;
+
+/**
+ * ErlangDistribution class, implementing Distribution, representing the Erlang 
+ * distribution of shape k and a given rate, being the sum of k exponential phases.
+ */
+final class ErlangDistribution implements Distribution {
+    private final int k;
+    private final double rate;
+
+    /**
+     * Constructs the Erlang distribution of the given shape and rate.
+     * @param k shape of the distribution
+     * @param rate rate of each exponential phase
+     */
+    ErlangDistribution(int k, double rate) {
+        if (k < 1) {
+            throw new IllegalArgumentException("shape must be positive: " + k);
+        }
+        if (!(rate > 0)) {
+            throw new IllegalArgumentException("rate must be positive: " + rate);
+        }
+        this.k = k;
+        this.rate = rate;
+    }
+
+    @Override
+    public double sample(RandomStream stream) {
+        double sum = 0;
+        for (int j = 0; j < k; j++) {
+            // uniform in (0, 1], so that no phase is infinite
+            sum -= Math.log(1 - stream.nextDouble());
+        }
+        return sum / rate;
+    }
+
+    @Override
+    public void fill(RandomStream stream, double[] block) {
+        for (int i = 0; i < block.length; i++) {
+            block[i] = sample(stream);
+        }
+    }
+}
@@ -5,9 +5,9 @@ package cs2030.simulator;
  * has a Customer, time and a Server.
  */
 public class Event {
-    private final Customer customer;
-    private final double time;
-    private final Server server;
+    private Customer customer;
+    private double time;
+    private Server server;
 
     // constructor
     /**
@@ -22,6 +22,21 @@ public class Event {
         this.server = server;
     }
 
+    /**
+     * Reuses this event object as an event of given time involving given customer and
+     * given server, for use by pooled events only once this event has been processed.
+     * @param time time of event
+     * @param customer customer involved in event
+     * @param server server involed in event, null if event concerns no server
+     * @return this event with the given properties
+     */
+    Event reset(double time, Customer customer, Server server) {
+        this.time = time;
+        this.customer = customer;
+        this.server = server;
+        return this;
+    }
+
     // getters
     public Customer getCustomer() {
         return customer;
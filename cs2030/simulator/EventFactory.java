@@ -0,0 +1,149 @@
+package cs2030.simulator;
+
+/**
+ * EventFactory class creating the events (and customers) of a Simulator, where every
+ * change of state creates a new immutable event and customer, and new customers are
+ * indexed from 1 in the order they arrive at this simulator. Subclasses may recycle
+ * events and customers once the Simulator releases them.
+ */
+class EventFactory {
+    // number of customers created so far, customers of this factory are indexed from 1
+    private int numOfCustomers = 0;
+
+    /**
+     * Returns the id of the next new customer.
+     * @return id of the next new customer
+     */
+    protected int nextCustomerId() {
+        numOfCustomers++;
+        return numOfCustomers;
+    }
+
+    /**
+     * Returns the number of customers created so far.
+     * @return number of customers created so far
+     */
+    int getNumOfCustomers() {
+        return numOfCustomers;
+    }
+
+    /**
+     * Sets the number of customers created so far, when restoring a snapshot.
+     * @param numOfCustomers number of customers created so far
+     */
+    void restoreNumOfCustomers(int numOfCustomers) {
+        this.numOfCustomers = numOfCustomers;
+    }
+
+    /**
+     * Returns the customer of the given properties created before a snapshot was taken.
+     * @param id customer's identifier
+     * @param arrivalTime customer's time of arrival
+     * @param greedy true if the customer is a greedy customer
+     * @param state state of the customer
+     * @param serviceTime customer's service time, NaN if drawn when the customer is served
+     * @return customer of the given properties
+     */
+    Customer restoreCustomer(int id, double arrivalTime, boolean greedy, State state,
+        double serviceTime) {
+        if (greedy) {
+            return new GreedyCustomer(arrivalTime, id, state, serviceTime);
+        } else {
+            return new TypicalCustomer(arrivalTime, id, state, serviceTime);
+        }
+    }
+
+    /**
+     * Returns the event of the given properties, involving a restored customer, pending 
+     * when a snapshot was taken.
+     * @param time time of event
+     * @param customer customer involved in event
+     * @param server server involved in event, null if event concerns no server
+     * @return event of the given properties
+     */
+    Event restoreEvent(double time, Customer customer, Server server) {
+        return new Event(time, customer, server);
+    }
+
+    /**
+     * Returns the arrival event of a new customer of the given type at the given time.
+     * @param time time of arrival
+     * @param greedy true if the arriving customer is a greedy customer
+     * @return arrival event of a new customer
+     */
+    Event newArrivalEvent(double time, boolean greedy) {
+        return newArrivalEvent(time, greedy, Double.NaN);
+    }
+
+    /**
+     * Returns the arrival event of a new customer of the given type and recorded service 
+     * time at the given time.
+     * @param time time of arrival
+     * @param greedy true if the arriving customer is a greedy customer
+     * @param serviceTime customer's service time, NaN if drawn when the customer is served
+     * @return arrival event of a new customer
+     */
+    Event newArrivalEvent(double time, boolean greedy, double serviceTime) {
+        if (greedy) {
+            return new Event(time, 
+                new GreedyCustomer(time, nextCustomerId(), State.ARRIVES, serviceTime), null);
+        } else {
+            return new Event(time, 
+                new TypicalCustomer(time, nextCustomerId(), State.ARRIVES, serviceTime), null);
+        }
+    }
+
+    /**
+     * Returns an event at the same time as the given event involving the same customer
+     * in the given state handled by the given server.
+     * @param e reference event
+     * @param state new state of customer
+     * @param server server handling the customer
+     * @return event at the same time involving the same customer in the given state
+     */
+    Event newEvent(Event e, State state, Server server) {
+        return e.createNewEvent(state, server);
+    }
+
+    /**
+     * Returns an event at serviceTime after the given event involving the same customer
+     * in the given state and the same server.
+     * @param e reference event
+     * @param serviceTime service time of server
+     * @param state new state of customer
+     * @return event at serviceTime after the given event in the given state
+     */
+    Event newEvent(Event e, double serviceTime, State state) {
+        return e.createNewEvent(serviceTime, state);
+    }
+
+    /**
+     * Returns an event at the same time and with the same server as the given event
+     * involving the given customer in the given state.
+     * @param e reference event
+     * @param customer customer involved in the event
+     * @param state new state of customer
+     * @return event at the same time and with the same server involving given customer
+     */
+    Event newEvent(Event e, Customer customer, State state) {
+        return e.createNewEvent(customer, state);
+    }
+
+    Event newRestEvent(double time, Server server) {
+        return new RestEvent(time, server);
+    }
+
+    Event newBackEvent(double time, Server server) {
+        return new BackEvent(time, server);
+    }
+
+    /**
+     * Releases the given event once it has been processed by the Simulator, where nothing
+     * is done as the event may still be referenced.
+     * @param e processed event
+     * @param state state of the event's customer when the event was processed, 
+     *     null for rest and back events
+     */
+    void release(Event e, State state) {
+    }
+}
@@ -0,0 +1,108 @@
+package cs2030.simulator;
+
+import java.util.ArrayDeque;
+
+/**
+ * EventPool class, extending EventFactory, recycling processed events and customers who
+ * are done or have left, so that a Simulator allocates no events or customers once the
+ * pools have warmed up. Customers change state in place, hence events must not be held
+ * on to once they have been processed.
+ */
+class EventPool extends EventFactory {
+    private final ArrayDeque<Event> freeEvents = new ArrayDeque<>();
+    private final ArrayDeque<Event> freeRestEvents = new ArrayDeque<>();
+    private final ArrayDeque<Event> freeBackEvents = new ArrayDeque<>();
+    private final ArrayDeque<Customer> freeGreedyCustomers = new ArrayDeque<>();
+    private final ArrayDeque<Customer> freeTypicalCustomers = new ArrayDeque<>();
+
+    @Override
+    Event newArrivalEvent(double time, boolean greedy, double serviceTime) {
+        return newEvent(time, 
+            newCustomer(nextCustomerId(), time, greedy, State.ARRIVES, serviceTime), null);
+    }
+
+    @Override
+    Event newEvent(Event e, State state, Server server) {
+        return newEvent(e.getTime(), e.getCustomer().changeState(state), server);
+    }
+
+    @Override
+    Event newEvent(Event e, double serviceTime, State state) {
+        return newEvent(e.getTime() + serviceTime, e.getCustomer().changeState(state), 
+            e.getServer());
+    }
+
+    @Override
+    Event newEvent(Event e, Customer customer, State state) {
+        return newEvent(e.getTime(), customer.changeState(state), e.getServer());
+    }
+
+    @Override
+    Customer restoreCustomer(int id, double arrivalTime, boolean greedy, State state,
+        double serviceTime) {
+        return newCustomer(id, arrivalTime, greedy, state, serviceTime);
+    }
+
+    @Override
+    Event restoreEvent(double time, Customer customer, Server server) {
+        return newEvent(time, customer, server);
+    }
+
+    @Override
+    Event newRestEvent(double time, Server server) {
+        if (freeRestEvents.isEmpty()) {
+            return new RestEvent(time, server);
+        }
+        Event e = freeRestEvents.pop();
+        return e.reset(time, e.getCustomer(), server);
+    }
+
+    @Override
+    Event newBackEvent(double time, Server server) {
+        if (freeBackEvents.isEmpty()) {
+            return new BackEvent(time, server);
+        }
+        Event e = freeBackEvents.pop();
+        return e.reset(time, e.getCustomer(), server);
+    }
+
+    @Override
+    void release(Event e, State state) {
+        if (e.isRestEvent()) {
+            freeRestEvents.push(e);
+        } else if (e.isBackEvent()) {
+            freeBackEvents.push(e);
+        } else {
+            if (state == State.DONE || state == State.LEAVES) {
+                // customer has no more events
+                Customer customer = e.getCustomer();
+                if (customer.isGreedy()) {
+                    freeGreedyCustomers.push(customer);
+                } else {
+                    freeTypicalCustomers.push(customer);
+                }
+            }
+            freeEvents.push(e.reset(0, null, null));
+        }
+    }
+
+    private Customer newCustomer(int id, double arrivalTime, boolean greedy, State state,
+        double serviceTime) {
+        if (greedy) {
+            return freeGreedyCustomers.isEmpty()
+                ? new GreedyCustomer(arrivalTime, id, state, serviceTime)
+                : freeGreedyCustomers.pop().recycle(arrivalTime, id, state, serviceTime);
+        } else {
+            return freeTypicalCustomers.isEmpty()
+                ? new TypicalCustomer(arrivalTime, id, state, serviceTime)
+                : freeTypicalCustomers.pop().recycle(arrivalTime, id, state, serviceTime);
+        }
+    }
+
+    private Event newEvent(double time, Customer customer, Server server) {
+        if (freeEvents.isEmpty()) {
+            return new Event(time, customer, server);
+        }
+        return freeEvents.pop().reset(time, customer, server);
+    }
+}
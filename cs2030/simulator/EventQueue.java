@@ -0,0 +1,41 @@
+package cs2030.simulator;
+
+/**
+ * EventQueue interface representing the queue of pending events of a Simulator, where
+ * events are polled in order of time (smaller time given priority), and events of the same
+ * time are polled in order of customer id (smaller id given priority), as defined by 
+ * EventComparator.
+ */
+public interface EventQueue {
+    /**
+     * Adds the given event to the queue.
+     * @param event event to be added
+     */
+    void add(Event event);
+
+    /**
+     * Removes and returns the next event in the queue, null if queue is empty.
+     * @return next event in the queue, null if queue is empty
+     */
+    Event poll();
+
+    /**
+     * Returns the next event in the queue without removing it, null if queue is empty.
+     * @return next event in the queue, null if queue is empty
+     */
+    Event peek();
+
+    /**
+     * Returns the number of events in the queue.
+     * @return number of events in the queue
+     */
+    int size();
+
+    /**
+     * Returns true if there are no events in the queue.
+     * @return true if there are no events in the queue
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
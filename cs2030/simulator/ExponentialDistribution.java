@@ -0,0 +1,37 @@
+package cs2030.simulator;
+
+/**
+ * ExponentialDistribution class, implementing Distribution, representing the exponential
+ * distribution of a given rate, sampled by inversion.
+ */
+final class ExponentialDistribution implements Distribution {
+    private final double rate;
+
+    /**
+     * Constructs the exponential distribution of the given rate.
+     * @param rate rate of the distribution
+     */
+    ExponentialDistribution(double rate) {
+        // rate 0 gives infinite durations, as servers that never come back from rest
+        if (!(rate >= 0)) {
+            throw new IllegalArgumentException("rate must be non-negative: " + rate);
+        }
+        this.rate = rate;
+    }
+
+    @Override
+    public double sample(RandomStream stream) {
+        return -Math.log(stream.nextDouble()) / rate;
+    }
+
+    @Override
+    public void fill(RandomStream stream, double[] block) {
+        // all uniforms first, so that the logarithms are computed in one tight loop
+        for (int i = 0; i < block.length; i++) {
+            block[i] = stream.nextDouble();
+        }
+        for (int i = 0; i < block.length; i++) {
+            block[i] = -Math.log(block[i]) / rate;
+        }
+    }
+}
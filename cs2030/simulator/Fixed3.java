@@ -0,0 +1,46 @@
+package cs2030.simulator;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * Fixed3 class rounding times to thousandths exactly as String.format("%.3f", time) does,
+ * without creating a String except for times within a hair of a rounding tie.
+ */
+class Fixed3 {
+    /**
+     * Returned by thousandths for times that are not formatted as a plain number of 
+     * thousandths (negative, infinite, NaN or too large).
+     */
+    static final long NOT_APPLICABLE = -1;
+
+    // above this many thousandths the time is left to String.format
+    private static final double MAX_THOUSANDTHS = 1e12;
+    // distance from a rounding tie (in thousandths) below which String.format decides
+    private static final double TIE_MARGIN = 1e-3;
+
+    /**
+     * Returns the given non-negative time rounded to thousandths as by String.format.
+     * @param time time to be rounded
+     * @return number of thousandths printed for time, NOT_APPLICABLE if time is not a 
+     *     non-negative number below 1e9
+     */
+    static long thousandths(double time) {
+        double thousandths = time * 1000;
+        // sign bit clear (also excludes -0.0) and not NaN or too large
+        if (Double.doubleToRawLongBits(time) < 0 || !(thousandths < MAX_THOUSANDTHS)) {
+            return NOT_APPLICABLE;
+        }
+        long whole = (long) thousandths;
+        double fraction = thousandths - whole;
+        // String.format rounds the shortest decimal representation half up, which only
+        // differs from rounding the exact value when very close to a tie
+        if (Math.abs(fraction - 0.5) > TIE_MARGIN) {
+            return fraction > 0.5 ? whole + 1 : whole;
+        }
+        // formatted without the decimal separator of the default locale, which BigDecimal
+        // would not parse
+        return new BigDecimal(String.format(Locale.ROOT, "%.3f", time)).unscaledValue()
+            .longValueExact();
+    }
+}
@@ -6,22 +6,30 @@ package cs2030.simulator;
 public class GreedyCustomer extends Customer {
     // constructor
     /**
-     * Constructs a new greedy customer with an identifier 
-     * id indexed from 1, in the order Customers (of all types) are created.
+     * Constructs a greedy customer with the given identifier, where customers (of all types)
+     * of a simulator are indexed from 1 in the order they arrive.
      * @param arrivalTime customer's time of arrival
+     * @param id customer's identifier
      * @param state State of the customer (State.ARRIVES/SERVED/WAITS/LEAVES/DONE)
      */
-    GreedyCustomer(double arrivalTime, State state) {
-        super(arrivalTime, state);
+    GreedyCustomer(double arrivalTime, int id, State state) {
+        super(arrivalTime, id, state);
     }
 
-    private GreedyCustomer(double arrivalTime, int id, State state) {
-        super(arrivalTime, id, state);
+    /**
+     * Constructs a greedy customer with the given identifier and recorded service time.
+     * @param arrivalTime customer's time of arrival
+     * @param id customer's identifier
+     * @param state State of the customer (State.ARRIVES/SERVED/WAITS/LEAVES/DONE)
+     * @param serviceTime customer's service time, NaN if drawn when the customer is served
+     */
+    GreedyCustomer(double arrivalTime, int id, State state, double serviceTime) {
+        super(arrivalTime, id, state, serviceTime);
     }
 
     @Override
     public GreedyCustomer setState(State state) {
-        return new GreedyCustomer(arrivalTime, id, state);
+        return new GreedyCustomer(arrivalTime, id, state, serviceTime);
     }
 
     @Override
@@ -0,0 +1,152 @@
+package cs2030.simulator;
+
+import java.util.Arrays;
+
+/**
+ * HeapEventQueue class implementing the event queue as a 4-ary heap over parallel primitive
+ * arrays of event times, customer ids and slot indices, so that comparisons never box or
+ * dereference an Event. Events themselves are kept in a slot table and only looked up when
+ * polled or peeked. Once the arrays have grown to the peak number of pending events, adding
+ * and polling events allocates nothing.
+ */
+public class HeapEventQueue implements EventQueue {
+    private static final int DEFAULT_CAPACITY = 64;
+
+    // heap arrays, heap[i] of the 4-ary heap is (times[i], ids[i], slots[i])
+    private double[] times;
+    private int[] ids;
+    private int[] slots;
+    private int size;
+
+    // slot table of events and stack of free slots
+    private Event[] events;
+    private int[] freeSlots;
+    private int numOfFreeSlots;
+
+    /**
+     * Constructs an empty event queue with the default initial capacity.
+     */
+    public HeapEventQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty event queue with room for the given number of events before
+     * the arrays need to grow.
+     * @param capacity initial number of events that can be held
+     */
+    public HeapEventQueue(int capacity) {
+        capacity = Math.max(capacity, 4);
+        this.times = new double[capacity];
+        this.ids = new int[capacity];
+        this.slots = new int[capacity];
+        this.size = 0;
+        this.events = new Event[capacity];
+        this.freeSlots = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            // lowest slot on top of the stack
+            freeSlots[i] = capacity - 1 - i;
+        }
+        this.numOfFreeSlots = capacity;
+    }
+
+    @Override
+    public void add(Event event) {
+        if (size == times.length) {
+            grow();
+        }
+        int slot = freeSlots[--numOfFreeSlots];
+        events[slot] = event;
+        siftUp(size, event.getTime(), event.getCustomer().getId(), slot);
+        size++;
+    }
+
+    @Override
+    public Event poll() {
+        if (size == 0) {
+            return null;
+        }
+        int slot = slots[0];
+        Event event = events[slot];
+        events[slot] = null;
+        freeSlots[numOfFreeSlots++] = slot;
+        size--;
+        if (size > 0) {
+            siftDown(0, times[size], ids[size], slots[size]);
+        }
+        return event;
+    }
+
+    @Override
+    public Event peek() {
+        return size == 0 ? null : events[slots[0]];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // returns true if key (t1, id1) is polled before key (t2, id2)
+    private static boolean isBefore(double t1, int id1, double t2, int id2) {
+        return t1 < t2 || (t1 == t2 && id1 < id2);
+    }
+
+    private void siftUp(int i, double time, int id, int slot) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 2;
+            if (!isBefore(time, id, times[parent], ids[parent])) {
+                break;
+            }
+            times[i] = times[parent];
+            ids[i] = ids[parent];
+            slots[i] = slots[parent];
+            i = parent;
+        }
+        times[i] = time;
+        ids[i] = id;
+        slots[i] = slot;
+    }
+
+    private void siftDown(int i, double time, int id, int slot) {
+        while (true) {
+            int firstChild = (i << 2) + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            // find the smallest of up to 4 children
+            int minChild = firstChild;
+            int lastChild = Math.min(firstChild + 4, size);
+            for (int c = firstChild + 1; c < lastChild; c++) {
+                if (isBefore(times[c], ids[c], times[minChild], ids[minChild])) {
+                    minChild = c;
+                }
+            }
+            if (!isBefore(times[minChild], ids[minChild], time, id)) {
+                break;
+            }
+            times[i] = times[minChild];
+            ids[i] = ids[minChild];
+            slots[i] = slots[minChild];
+            i = minChild;
+        }
+        times[i] = time;
+        ids[i] = id;
+        slots[i] = slot;
+    }
+
+    private void grow() {
+        int oldCapacity = times.length;
+        int newCapacity = oldCapacity * 2;
+        times = Arrays.copyOf(times, newCapacity);
+        ids = Arrays.copyOf(ids, newCapacity);
+        slots = Arrays.copyOf(slots, newCapacity);
+        events = Arrays.copyOf(events, newCapacity);
+        // all old slots are in use when the heap is full -> only new slots are free
+        freeSlots = new int[newCapacity];
+        numOfFreeSlots = 0;
+        for (int s = newCapacity - 1; s >= oldCapacity; s--) {
+            freeSlots[numOfFreeSlots++] = s;
+        }
+    }
+}
@@ -6,11 +6,21 @@ package cs2030.simulator;
 class HumanServer extends Server {
     // constructor
     /**
-     *Constructs a human server who can waitlist up to (size) number of customers.
+     *Constructs a human server of the given id who can waitlist up to (size) number of customers.
+     *@param id identifier of this server
      *@param size maximum length of customer queue that can be handled by this server
      */
-    HumanServer(int size) {
-        super(size);
+    HumanServer(int id, int size) {
+        super(id, size);
+    }
+
+    private HumanServer(HumanServer other) {
+        super(other);
+    }
+
+    @Override
+    Server copy(SelfCheckOut mainSelfCheckOut) {
+        return new HumanServer(this);
     }
 
     @Override
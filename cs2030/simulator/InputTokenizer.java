@@ -0,0 +1,266 @@
+package cs2030.simulator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * InputTokenizer class reading whitespace-separated numbers from an input stream through
+ * a reusable byte buffer, replacing Scanner for the input of Main. Numbers are parsed 
+ * straight from the buffer without creating a String, except for the rare doubles which
+ * cannot be parsed exactly by the fast path (more than 18 significant digits, large
+ * exponents, Infinity, NaN, hexadecimal), which are parsed by Double.parseDouble, so that
+ * every double is parsed exactly as Scanner parses it.
+ */
+public class InputTokenizer implements AutoCloseable {
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    // longest token parsed from the buffer, longer tokens are an error
+    private static final int MAX_TOKEN_LENGTH = 1 << 10;
+    // doubles are exact up to 10^22, and integers up to 2^53
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final int MAX_MANTISSA_DIGITS = 18;
+
+    private final InputStream in;
+    private final byte[] buffer;
+    private int position = 0;
+    private int limit = 0;
+    private boolean endOfStream = false;
+    // bounds of the current token in the buffer
+    private int tokenStart;
+    private int tokenEnd;
+
+    /**
+     * Constructs a tokenizer of the given input stream.
+     * @param in source of the input
+     */
+    public InputTokenizer(InputStream in) {
+        this.in = in;
+        this.buffer = new byte[DEFAULT_BUFFER_SIZE];
+    }
+
+    /**
+     * Returns true if there is another token in the input.
+     * @return true if there is another token in the input
+     */
+    public boolean hasNext() {
+        while (true) {
+            while (position < limit) {
+                if (!isWhitespace(buffer[position])) {
+                    return true;
+                }
+                position++;
+            }
+            if (!fill()) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Returns the next token as an int.
+     * @return next int of the input
+     * @throws NoSuchElementException if the input is exhausted
+     * @throws InputMismatchException if the next token is not an int
+     */
+    public int nextInt() {
+        nextToken();
+        int i = tokenStart;
+        boolean negative = buffer[i] == '-';
+        if (negative || buffer[i] == '+') {
+            i++;
+        }
+        if (i == tokenEnd) {
+            throw mismatch();
+        }
+        long value = 0;
+        for (; i < tokenEnd; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw mismatch();
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw mismatch();
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw mismatch();
+        }
+        return (int) value;
+    }
+
+    /**
+     * Returns the next token as a double.
+     * @return next double of the input
+     * @throws NoSuchElementException if the input is exhausted
+     * @throws InputMismatchException if the next token is not a double
+     */
+    public double nextDouble() {
+        nextToken();
+        int i = tokenStart;
+        boolean negative = buffer[i] == '-';
+        if (negative || buffer[i] == '+') {
+            i++;
+        }
+        long mantissa = 0;
+        int numOfDigits = 0;
+        int exponent = 0;
+        boolean seenPoint = false;
+        boolean seenDigit = false;
+        for (; i < tokenEnd; i++) {
+            byte b = buffer[i];
+            if (b >= '0' && b <= '9') {
+                seenDigit = true;
+                if (mantissa == 0 && b == '0') {
+                    // leading zeros are not significant
+                } else if (numOfDigits < MAX_MANTISSA_DIGITS) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    numOfDigits++;
+                } else {
+                    return slowDouble();
+                }
+                if (seenPoint) {
+                    exponent--;
+                }
+            } else if (b == '.' && !seenPoint) {
+                seenPoint = true;
+            } else {
+                // exponents, Infinity, NaN, hexadecimal, or not a number
+                return slowDouble();
+            }
+        }
+        if (!seenDigit) {
+            throw mismatch();
+        }
+        if (mantissa >= MAX_EXACT_MANTISSA || exponent < -22) {
+            return slowDouble();
+        }
+        // exact mantissa divided by an exact power of ten, rounded once
+        double value = mantissa / POWERS_OF_TEN[-exponent];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Returns the rest of the current line, excluding the line separator.
+     * @return rest of the current line
+     * @throws NoSuchElementException if the input is exhausted
+     */
+    public String nextLine() {
+        if (position == limit && !fill()) {
+            throw new NoSuchElementException();
+        }
+        StringBuilder line = new StringBuilder();
+        while (true) {
+            int start = position;
+            while (position < limit && buffer[position] != '\n') {
+                position++;
+            }
+            line.append(new String(buffer, start, position - start, StandardCharsets.UTF_8));
+            if (position < limit) {
+                // skip line separator
+                position++;
+                break;
+            }
+            if (!fill()) {
+                break;
+            }
+        }
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            line.setLength(length - 1);
+        }
+        return line.toString();
+    }
+
+    /**
+     * Closes the input stream.
+     */
+    @Override
+    public void close() {
+        try {
+            in.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // finds the bounds of the next token, keeping the whole token in the buffer
+    private void nextToken() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int i = position;
+        while (true) {
+            while (i < limit && !isWhitespace(buffer[i])) {
+                i++;
+            }
+            if (i < limit || endOfStream) {
+                break;
+            }
+            // token may continue past the buffer
+            int offset = position;
+            if (!fill()) {
+                i -= offset;
+                break;
+            }
+            i -= offset;
+            if (i >= MAX_TOKEN_LENGTH) {
+                throw new InputMismatchException("token too long");
+            }
+        }
+        tokenStart = position;
+        tokenEnd = i;
+        position = i;
+    }
+
+    // moves unread bytes to the start of the buffer and reads more, false if none read
+    private boolean fill() {
+        if (endOfStream) {
+            return false;
+        }
+        int unread = limit - position;
+        System.arraycopy(buffer, position, buffer, 0, unread);
+        position = 0;
+        limit = unread;
+        try {
+            int n = in.read(buffer, limit, buffer.length - limit);
+            if (n < 0) {
+                endOfStream = true;
+                return false;
+            }
+            limit += n;
+            return true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private double slowDouble() {
+        String token = tokenString();
+        try {
+            return Double.parseDouble(token);
+        } catch (NumberFormatException ex) {
+            throw new InputMismatchException(token);
+        }
+    }
+
+    private InputMismatchException mismatch() {
+        return new InputMismatchException(tokenString());
+    }
+
+    private String tokenString() {
+        return new String(buffer, tokenStart, tokenEnd - tokenStart, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0x0B;
+    }
+}
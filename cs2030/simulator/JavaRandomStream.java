@@ -0,0 +1,47 @@
+package cs2030.simulator;
+
+/**
+ * JavaRandomStream class, implementing RandomStream, generating exactly the sequence of
+ * java.util.Random of the same seed, being its 48-bit linear congruential generator 
+ * without the synchronisation of java.util.Random.
+ */
+public final class JavaRandomStream implements RandomStream {
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long seed;
+
+    /**
+     * Constructs a stream generating the sequence of new java.util.Random(seed).
+     * @param seed seed of the stream
+     */
+    public JavaRandomStream(long seed) {
+        this.seed = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    private int next(int bits) {
+        seed = (seed * MULTIPLIER + ADDEND) & MASK;
+        return (int) (seed >>> (48 - bits));
+    }
+
+    @Override
+    public double nextDouble() {
+        return (((long) next(26) << 27) + next(27)) * 0x1.0p-53;
+    }
+
+    @Override
+    public long nextLong() {
+        return ((long) next(32) << 32) + next(32);
+    }
+
+    @Override
+    public long[] saveState() {
+        return new long[] {seed};
+    }
+
+    @Override
+    public void restoreState(long[] state) {
+        seed = state[0];
+    }
+}
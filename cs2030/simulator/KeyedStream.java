@@ -0,0 +1,47 @@
+package cs2030.simulator;
+
+/**
+ * KeyedStream class, implementing RandomStream, generating the SplitMix64 sequence 
+ * starting from a key, so that each draw of an entity (e.g. the service time of customer
+ * 42, or the third rest of server 7) has its own stream whatever order the entities are
+ * simulated in. The stream is reset to a new key for each draw, allocating nothing.
+ */
+final class KeyedStream implements RandomStream {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long seed;
+    private long state;
+
+    /**
+     * Constructs a keyed stream of the given base seed.
+     * @param seed base seed mixed into every key
+     */
+    KeyedStream(long seed) {
+        this.seed = Xoroshiro128Stream.mix(seed);
+    }
+
+    /**
+     * Resets this stream to the start of the stream of the given key.
+     * @param purpose kind of draw (e.g. service time)
+     * @param entity id of the customer or server the draw is for
+     * @param count number of earlier draws of the same purpose for the same entity
+     * @return this stream
+     */
+    KeyedStream reset(int purpose, int entity, int count) {
+        long key = Xoroshiro128Stream.mix(seed + purpose * GOLDEN_GAMMA);
+        key = Xoroshiro128Stream.mix(key + entity);
+        state = Xoroshiro128Stream.mix(key + count);
+        return this;
+    }
+
+    @Override
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return Xoroshiro128Stream.mix(state);
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+}
@@ -0,0 +1,216 @@
+package cs2030.simulator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * LogHistogram class counting non-negative values (such as waiting times) in log-scaled
+ * buckets, where each power of two is split into 64 equal sub-buckets, so that any
+ * percentile is known to within 1.6% of its value using a bounded amount of memory.
+ * Zeros are counted exactly, and values beyond 2^-30 to 2^30 are clamped to the
+ * first or last bucket. Only the buckets of the powers of two counted so far are held,
+ * grown as values fall outside them, so that a histogram whose values span a few powers
+ * of two takes a fraction of the memory of all buckets. Histograms with the same buckets
+ * merge by adding counts, so the histograms of parallel replications combine cheaply
+ * into one distribution.
+ */
+public class LogHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int NUM_OF_SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MIN_EXPONENT = -30;
+    private static final int MAX_EXPONENT = 30;
+    private static final int NUM_OF_BUCKETS = 
+        (MAX_EXPONENT - MIN_EXPONENT + 1) * NUM_OF_SUB_BUCKETS;
+    private static final int MANTISSA_BITS = 52;
+    // buckets first held, of the powers of two around the first value counted
+    private static final int INITIAL_BUCKETS = 16 * NUM_OF_SUB_BUCKETS;
+
+    // counts of the buckets from firstBucket, of whole powers of two
+    private long[] counts;
+    private int firstBucket;
+    private long numOfZeros;
+    private long count;
+
+    /**
+     * Constructs an empty histogram.
+     */
+    LogHistogram() {
+        this.counts = new long[0];
+        this.firstBucket = 0;
+        this.numOfZeros = 0;
+        this.count = 0;
+    }
+
+    /**
+     * Counts the given value.
+     * @param value non-negative value to be counted
+     */
+    void add(double value) {
+        count++;
+        if (value <= 0) {
+            numOfZeros++;
+        } else {
+            int index = indexOf(bucketOf(value));
+            counts[index]++;
+        }
+    }
+
+    /**
+     * Discards every value counted so far.
+     */
+    void clear() {
+        Arrays.fill(counts, 0);
+        numOfZeros = 0;
+        count = 0;
+    }
+
+    /**
+     * Adds the counts of the given histogram to this histogram.
+     * @param other histogram to be merged into this histogram
+     */
+    void addAll(LogHistogram other) {
+        if (other.counts.length > 0) {
+            indexOf(other.firstBucket);
+            indexOf(other.firstBucket + other.counts.length - 1);
+        }
+        int offset = other.firstBucket - firstBucket;
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[offset + i] += other.counts[i];
+        }
+        numOfZeros += other.numOfZeros;
+        count += other.count;
+    }
+
+    /**
+     * Writes the counts of this histogram, as (bucket, count) pairs of non-empty buckets.
+     * @param out destination of the counts
+     * @throws IOException if the counts cannot be written
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeLong(numOfZeros);
+        int numOfNonEmpty = 0;
+        for (long bucketCount : counts) {
+            if (bucketCount != 0) {
+                numOfNonEmpty++;
+            }
+        }
+        out.writeInt(numOfNonEmpty);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                out.writeShort(firstBucket + i);
+                out.writeLong(counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Reads the counts written by writeState into this empty histogram.
+     * @param in source of the counts
+     * @throws IOException if the counts cannot be read
+     */
+    void readState(DataInput in) throws IOException {
+        count = in.readLong();
+        numOfZeros = in.readLong();
+        for (int i = in.readInt(); i > 0; i--) {
+            int index = indexOf(in.readUnsignedShort());
+            counts[index] = in.readLong();
+        }
+    }
+
+    // index in counts of the given bucket, first growing counts to hold the bucket
+    private int indexOf(int bucket) {
+        int index = bucket - firstBucket;
+        if (index >= 0 && index < counts.length) {
+            return index;
+        }
+        // whole powers of two, grown by half at least so that counts are copied a few times
+        int power = bucket - bucket % NUM_OF_SUB_BUCKETS;
+        int half = counts.length / 2 / NUM_OF_SUB_BUCKETS * NUM_OF_SUB_BUCKETS;
+        int start;
+        int end;
+        if (counts.length == 0) {
+            start = Math.max(0, power - INITIAL_BUCKETS / 2);
+            end = Math.min(NUM_OF_BUCKETS, start + INITIAL_BUCKETS);
+        } else if (index < 0) {
+            start = Math.max(0, Math.min(power, firstBucket - half));
+            end = firstBucket + counts.length;
+        } else {
+            start = firstBucket;
+            end = Math.min(NUM_OF_BUCKETS,
+                Math.max(power + NUM_OF_SUB_BUCKETS, firstBucket + counts.length + half));
+        }
+        long[] grown = new long[end - start];
+        if (counts.length > 0) {
+            System.arraycopy(counts, 0, grown, firstBucket - start, counts.length);
+        }
+        counts = grown;
+        firstBucket = start;
+        return bucket - start;
+    }
+
+    // bucket of positive value from its exponent and leading mantissa bits
+    private static int bucketOf(double value) {
+        int exponent = Math.getExponent(value);
+        if (exponent < MIN_EXPONENT) {
+            return 0;
+        } else if (exponent > MAX_EXPONENT) {
+            return NUM_OF_BUCKETS - 1;
+        }
+        long mantissa = Double.doubleToRawLongBits(value) >>> (MANTISSA_BITS - SUB_BUCKET_BITS);
+        int subBucket = (int) (mantissa & (NUM_OF_SUB_BUCKETS - 1));
+        return (exponent - MIN_EXPONENT) * NUM_OF_SUB_BUCKETS + subBucket;
+    }
+
+    // midpoint of the values counted in the given bucket
+    private static double valueOf(int bucket) {
+        int exponent = bucket / NUM_OF_SUB_BUCKETS + MIN_EXPONENT;
+        int subBucket = bucket % NUM_OF_SUB_BUCKETS;
+        return Math.scalb(1.0 + (subBucket + 0.5) / NUM_OF_SUB_BUCKETS, exponent);
+    }
+
+    /**
+     * Returns the number of values counted.
+     * @return number of values counted
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns an estimate of the given percentile of the values counted, being the 
+     * smallest value such that at least percentile% of the values are at most that value.
+     * @param percentile percentile between 0 and 100
+     * @return estimate of the percentile, NaN if no values are counted
+     */
+    public double getPercentile(double percentile) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = numOfZeros;
+        if (seen >= rank) {
+            return 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return valueOf(firstBucket + i);
+            }
+        }
+        return valueOf(NUM_OF_BUCKETS - 1);
+    }
+
+    /**
+     * Returns the 50th, 95th and 99th percentiles of the values counted.
+     * @return median, 95th and 99th percentile in the form [p50 p95 p99]
+     */
+    @Override
+    public String toString() {
+        return "[" + String.format("%.3f", getPercentile(50)) + " " 
+            + String.format("%.3f", getPercentile(95)) + " " 
+            + String.format("%.3f", getPercentile(99)) + "]";
+    }
+}
@@ -0,0 +1,187 @@
+package cs2030.simulator;
+
+import java.util.List;
+
+/**
+ * LogicalProcess class simulating a partition of the servers of a ParallelSimulator, with
+ * its own queue of events, server index, random generator and statistics. Customers are
+ * routed to its servers by the ParallelSimulator, and every other event of its servers is
+ * processed as by Simulator.processEvent, where only the statistics are observed.
+ *
+ * <p>A process is owned by its thread while dispatched, and by the router otherwise, which
+ * may then read its events and server index, and let routed customers arrive.
+ */
+class LogicalProcess {
+    private final EventQueue eventQ;
+    private final List<Server> servers;
+    private final int firstServerId;
+    private final EventFactory eventFactory;
+    private final ServerIndex serverIndex;
+    private final Statistics statistics;
+    private final RandomGenerator randomGenerator;
+    private final double restProb;
+
+    // bound of the round the process is dispatched for, written before dispatched
+    double boundTime;
+    int boundCustomerId;
+    // true if the round is the last, taking the statistics up to endTime
+    boolean finishing;
+    double endTime;
+    // round the process is dispatched for, by the router
+    volatile int dispatched = -1;
+    // null message, latest round up to whose bound all events have been processed
+    volatile int reached = -1;
+    // true if the process is to exit without finishing, as the simulation failed
+    volatile boolean stopped = false;
+    // thread of the process, unparked by the router whenever it dispatches or stops it
+    Thread thread;
+    // cause of the failure of this process, null if it has not failed
+    volatile Throwable failure = null;
+
+    /**
+     * Constructs a logical process of the given servers of consecutive ids, where the
+     * first numOfQueues of them have customer queues that arriving customers may join.
+     * @param servers servers of this process, in order of id
+     * @param numOfQueues number of customer queues that arriving customers may join
+     * @param maxQLength length of customer queue each Server can have
+     * @param numOfServers number of servers of the whole simulation
+     * @param randomGenerator keyed random generator of this process
+     * @param restProb probability of a server resting after it finishes serving a customer
+     * @param eventQ empty event queue of this process
+     */
+    LogicalProcess(List<Server> servers, int numOfQueues, int maxQLength, int numOfServers,
+        RandomGenerator randomGenerator, double restProb, EventQueue eventQ) {
+        this.servers = servers;
+        this.firstServerId = servers.get(0).id;
+        this.serverIndex = new ServerIndex(firstServerId, servers.size(), numOfQueues,
+            maxQLength);
+        for (Server server : servers) {
+            server.setIndex(serverIndex);
+        }
+        this.statistics = new Statistics(numOfServers);
+        this.randomGenerator = randomGenerator;
+        this.restProb = restProb;
+        this.eventQ = eventQ;
+        this.eventFactory = new EventFactory();
+    }
+
+    ServerIndex getServerIndex() {
+        return serverIndex;
+    }
+
+    Statistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Returns true if this process has an event before the given time, or at the given
+     * time of a customer of smaller id. A process with no event before the next arrival
+     * has its servers as at the arrival already, with nothing to process until then.
+     * @param time time of the bound
+     * @param customerId customer id of the bound
+     * @return true if there is an event before the bound
+     */
+    boolean hasEventBefore(double time, int customerId) {
+        Event e = eventQ.peek();
+        return e != null && (e.getTime() < time
+            || e.getTime() == time && e.getCustomer().getId() < customerId);
+    }
+
+    /**
+     * Lets the customer of the given arrival event, routed to the given server of this
+     * process, be served by or waitlisted at the server, processing its service event
+     * right away as no other event of this process can come before it. All events before
+     * the arrival must have been processed.
+     * @param e arrival event
+     * @param serverId id of the server the customer is routed to
+     * @param serve true if the server serves the customer immediately
+     */
+    void arrive(Event e, int serverId, boolean serve) {
+        Customer customer = e.getCustomer();
+        Server server = servers.get(serverId - firstServerId);
+        statistics.advanceTime(e.getTime());
+        if (serve) {
+            server.serve(customer);
+            eventQ.add(eventFactory.newEvent(e, State.SERVED, server));
+        } else {
+            server.waitList(customer);
+            statistics.addQueueLength(1);
+        }
+        statistics.addNumServed(customer.isGreedy());
+        // the service event, which changes no server, draws the time the server is done
+        processUntil(e.getTime(), customer.getId() + 1);
+    }
+
+    /**
+     * Processes all events before the given time, and at the given time of customers of
+     * smaller id than the given id (rest and back events being of customer id 0).
+     * @param time time of the bound
+     * @param customerId customer id of the bound
+     */
+    void processUntil(double time, int customerId) {
+        Event e = eventQ.peek();
+        while (e != null && (e.getTime() < time
+            || e.getTime() == time && e.getCustomer().getId() < customerId)) {
+            processEvent();
+            e = eventQ.peek();
+        }
+    }
+
+    /**
+     * Takes the statistics up to the given end time of the whole simulation, and processes
+     * all remaining events, which are at infinite times.
+     * @param endTime latest finite event time of the whole simulation
+     */
+    void finish(double endTime) {
+        statistics.advanceTime(endTime);
+        processUntil(Double.POSITIVE_INFINITY, Integer.MAX_VALUE);
+    }
+
+    private void processEvent() {
+        Event e = eventQ.poll();
+        State state = e.getCustomer().getState();
+        statistics.advanceTime(e.getTime());
+
+        if (e.isRestEvent()) {
+            Server server = e.getServer();
+            server.rest();
+            double restPeriod = randomGenerator.genRestPeriod(server);
+            statistics.addRestTime(server.id, restPeriod);
+            eventQ.add(eventFactory.newBackEvent(e.getTime() + restPeriod, server));
+        } else if (e.isBackEvent()) {
+            Server server = e.getServer();
+            server.back();
+            serveNext(e, server);
+        } else if (state == State.SERVED) {
+            Customer customer = e.getCustomer();
+            Server server = e.getServer();
+            double serviceTime = customer.getServiceTime();
+            if (Double.isNaN(serviceTime)) {
+                serviceTime = randomGenerator.genServiceTime(server, customer);
+            }
+            eventQ.add(eventFactory.newEvent(e, serviceTime, State.DONE));
+            statistics.addBusyTime(server.id, serviceTime);
+            statistics.addTotalWaitingTime(e.getWaitingTime(customer), customer.isGreedy());
+        } else if (state == State.DONE) {
+            Server server = e.getServer();
+            server.clearCurrent();
+            statistics.addSojournTime(e.getTime() - e.getCustomer().getArrivalTime());
+            if (server.isHumanServer() && randomGenerator.genRandomRest(server) < restProb) {
+                eventQ.add(eventFactory.newRestEvent(e.getTime(), server));
+            } else {
+                serveNext(e, server);
+            }
+        }
+        eventFactory.release(e, state);
+    }
+
+    // serves the next waitlisted customer of the server, if any
+    private void serveNext(Event e, Server server) {
+        if (server.hasWait()) {
+            Customer nextCustomer = server.getNextCustomer();
+            server.serveNextCustomer();
+            statistics.addQueueLength(-1);
+            eventQ.add(eventFactory.newEvent(e, nextCustomer, State.SERVED));
+        }
+    }
+}
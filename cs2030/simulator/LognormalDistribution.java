@@ -0,0 +1,44 @@
+package cs2030.simulator;
+
+/**
+ * LognormalDistribution class, implementing Distribution, representing the lognormal
+ * distribution, whose normal variates are drawn in pairs by the Box-Muller transform.
+ */
+final class LognormalDistribution implements Distribution {
+    private final double mu;
+    private final double sigma;
+
+    /**
+     * Constructs the lognormal distribution whose logarithm has the given mean and 
+     * standard deviation.
+     * @param mu mean of the logarithm of the variates
+     * @param sigma standard deviation of the logarithm of the variates
+     */
+    LognormalDistribution(double mu, double sigma) {
+        if (!(sigma >= 0) || Double.isInfinite(sigma) || !Double.isFinite(mu)) {
+            throw new IllegalArgumentException("invalid lognormal parameters: " + mu + " " 
+                + sigma);
+        }
+        this.mu = mu;
+        this.sigma = sigma;
+    }
+
+    @Override
+    public double sample(RandomStream stream) {
+        double radius = Math.sqrt(-2 * Math.log(1 - stream.nextDouble()));
+        return Math.exp(mu + sigma * radius * Math.cos(2 * Math.PI * stream.nextDouble()));
+    }
+
+    @Override
+    public void fill(RandomStream stream, double[] block) {
+        // each pair of uniforms gives two independent normal variates
+        for (int i = 0; i < block.length; i += 2) {
+            double radius = Math.sqrt(-2 * Math.log(1 - stream.nextDouble()));
+            double angle = 2 * Math.PI * stream.nextDouble();
+            block[i] = Math.exp(mu + sigma * radius * Math.cos(angle));
+            if (i + 1 < block.length) {
+                block[i + 1] = Math.exp(mu + sigma * radius * Math.sin(angle));
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package cs2030.simulator;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * ParallelJobs class running a set of independent, indexed jobs on a work-stealing
+ * fork-join pool, returning once all jobs are done.
+ */
+class ParallelJobs {
+    /**
+     * Runs jobs 0 to (numOfJobs - 1) on up to the given number of threads.
+     * @param numOfJobs number of jobs
+     * @param parallelism maximum number of jobs to run at the same time
+     * @param job job to run given its index
+     */
+    static void run(int numOfJobs, int parallelism, IntConsumer job) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, numOfJobs).parallel().forEach(job)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("jobs interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("job failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
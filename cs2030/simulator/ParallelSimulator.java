@@ -0,0 +1,430 @@
+package cs2030.simulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ParallelSimulator class running one simulation with its servers split into partitions
+ * of consecutive ids, each simulated by a LogicalProcess on its own thread, while the
+ * calling thread generates the arrivals and routes each customer to a server.
+ *
+ * <p>Synchronization is conservative: the router publishes the (time, customer id) of the
+ * next arrival as the bound up to which a process may safely run, since no message can
+ * reach a process before it. Routing needs the servers of every process as at the
+ * arrival, but the lookahead of a process is its next event: a process with no event
+ * before the bound already has its servers as at the arrival, so only processes with
+ * events before the bound are dispatched, and answer with a null message once they have
+ * processed them. The router then routes the customer as Simulator.processEvent does, and
+ * lets it arrive at the process of its server while that process is idle, drawing its
+ * service time right away, so the process is only dispatched again once one of its
+ * servers is done or rests before an arrival. All SelfCheckOuts share a queue and are
+ * kept in the same partition.
+ *
+ * <p>Draws are keyed by customer or server, so the statistics are those of a Simulator
+ * with the same options and keyed random numbers (not those of the default Simulator), up
+ * to the rounding of totals summed across partitions.
+ *
+ * <p>This engine is experimental. Routing a customer to the first idle server of all
+ * partitions couples every partition at every arrival, so processes have no lookahead
+ * beyond the next arrival and only run in parallel between consecutive arrivals, while
+ * each round hands processes over between threads. It is not expected to be faster than
+ * a statistics-only Simulator (see benchmarks/README.md for measurements).
+ */
+public class ParallelSimulator {
+    // busy-waiting only pays off if the awaited thread runs on another core, after which
+    // waiting threads yield a few times to a thread about to answer, then park until the
+    // thread they wait for unparks them
+    private static final int SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 1 << 10 : 0;
+    private static final int YIELDS = 8;
+
+    private final LogicalProcess[] processes;
+    private final ArrivalSource arrivals;
+    private final Statistics statistics;
+    private final int maxQLength;
+    private boolean hasRun = false;
+    // thread routing the arrivals, unparked by processes once they reach their bound
+    private Thread router;
+
+    // routing of the latest arrival, -1 if the customer leaves
+    private int routedProcess;
+    private int routedServerId;
+    private boolean routedServe;
+
+    /**
+     * Constructs a new parallel simulator with the given properties, whose servers are
+     * split into up to the given number of partitions.
+     * @param baseSeed base seed of RandomGenerator to be used for this simulator
+     * @param numOfHumanServers number of HumanServers in this simulator
+     * @param numOfSelfCheckOuts number of SelfCheckOuts in this simulator
+     * @param maxQLength length of customer queue each Server can have
+     *     (exclusive of customer being served)
+     * @param numOfCustomers number of Customers that will arrive in this simulator
+     * @param arrivalRate arrival rate of RandomGenerator
+     * @param serviceRate service rate of RandomGenerator
+     * @param restingRate resting rate of RandomGenerator
+     * @param restProb probability of a server resting after it finishes serving a customer
+     * @param greedyProb probability of an arriving customer being a greedy customer
+     * @param options engine options of this simulator
+     * @param numOfPartitions maximum number of partitions, each run on its own thread
+     */
+    public ParallelSimulator(int baseSeed, int numOfHumanServers, int numOfSelfCheckOuts,
+        int maxQLength, int numOfCustomers, double arrivalRate, double serviceRate,
+        double restingRate, double restProb, double greedyProb, SimulatorOptions options,
+        int numOfPartitions) {
+        this(baseSeed, numOfHumanServers, numOfSelfCheckOuts, maxQLength, numOfCustomers,
+            Distribution.exponential(arrivalRate), Distribution.exponential(serviceRate),
+            Distribution.exponential(restingRate), restProb, greedyProb, options,
+            numOfPartitions);
+    }
+
+    private ParallelSimulator(int baseSeed, int numOfHumanServers, int numOfSelfCheckOuts,
+        int maxQLength, int numOfCustomers, Distribution interArrivalTime,
+        Distribution serviceTime, Distribution restPeriod, double restProb,
+        double greedyProb, SimulatorOptions options, int numOfPartitions) {
+        this(baseSeed, numOfHumanServers, numOfSelfCheckOuts, maxQLength, numOfCustomers,
+            interArrivalTime, serviceTime, serviceTime, restPeriod, restProb, greedyProb,
+            options, numOfPartitions);
+    }
+
+    /**
+     * Constructs a new parallel simulator whose durations follow the given distributions,
+     * whose servers are split into up to the given number of partitions. Events of each
+     * partition are held in event queues of the given options, whose pooling and
+     * statistics-only modes are ignored as only the statistics are observed.
+     * @param baseSeed base seed of RandomGenerator to be used for this simulator
+     * @param numOfHumanServers number of HumanServers in this simulator
+     * @param numOfSelfCheckOuts number of SelfCheckOuts in this simulator
+     * @param maxQLength length of customer queue each Server can have
+     *     (exclusive of customer being served)
+     * @param numOfCustomers number of Customers that will arrive in this simulator
+     * @param interArrivalTime distribution of the time between consecutive arrivals
+     * @param humanServiceTime distribution of the service time of HumanServers
+     * @param selfCheckOutServiceTime distribution of the service time of SelfCheckOuts
+     * @param restPeriod distribution of the rest period of HumanServers
+     * @param restProb probability of a server resting after it finishes serving a customer
+     * @param greedyProb probability of an arriving customer being a greedy customer
+     * @param options engine options of this simulator
+     * @param numOfPartitions maximum number of partitions, each run on its own thread
+     */
+    public ParallelSimulator(int baseSeed, int numOfHumanServers, int numOfSelfCheckOuts,
+        int maxQLength, int numOfCustomers, Distribution interArrivalTime,
+        Distribution humanServiceTime, Distribution selfCheckOutServiceTime,
+        Distribution restPeriod, double restProb, double greedyProb,
+        SimulatorOptions options, int numOfPartitions) {
+        this.maxQLength = maxQLength;
+
+        List<Server> servers = newServers(numOfHumanServers, numOfSelfCheckOuts, maxQLength);
+        int numOfServers = servers.size();
+        int[] firstIds = partition(numOfHumanServers, numOfServers, numOfPartitions);
+        this.processes = new LogicalProcess[firstIds.length - 1];
+        for (int p = 0; p < processes.length; p++) {
+            processes[p] = new LogicalProcess(servers.subList(firstIds[p] - 1, 
+                firstIds[p + 1] - 1), 
+                numOfQueues(firstIds[p], firstIds[p + 1] - 1, numOfHumanServers, 
+                    numOfSelfCheckOuts), 
+                maxQLength, numOfServers,
+                new RandomGenerator(baseSeed, interArrivalTime, humanServiceTime,
+                    selfCheckOutServiceTime, restPeriod, options.getRandomSource(), true),
+                restProb, options.newEventQueue());
+        }
+
+        this.statistics = new Statistics(numOfServers);
+        this.arrivals = new RandomArrivalSource(
+            new RandomGenerator(baseSeed, interArrivalTime, humanServiceTime,
+                selfCheckOutServiceTime, restPeriod, options.getRandomSource(), true),
+            new EventFactory(), numOfCustomers, greedyProb);
+    }
+
+    /**
+     * Returns the number of partitions the servers are split into.
+     * @return number of logical processes
+     */
+    public int getNumOfPartitions() {
+        return processes.length;
+    }
+
+    /**
+     * Runs the whole simulation and returns its statistics. A parallel simulator runs once.
+     * @return statistics of the simulation once all events are processed
+     * @throws IllegalStateException if the simulator has already run or a partition failed
+     */
+    public Statistics run() {
+        if (hasRun) {
+            throw new IllegalStateException("parallel simulator has already run");
+        }
+        hasRun = true;
+        router = Thread.currentThread();
+        List<Thread> threads = new ArrayList<>();
+        boolean finished = false;
+        try {
+            for (LogicalProcess process : processes) {
+                Thread thread = new Thread(() -> runProcess(process), "logical-process");
+                thread.setDaemon(true);
+                process.thread = thread;
+                thread.start();
+                threads.add(thread);
+            }
+
+            int round = 0;
+            while (true) {
+                Event next = arrivals.hasNextArrival() ? arrivals.nextArrival() : null;
+                if (next == null) {
+                    // every event of finite time may be processed
+                    dispatch(round, Double.POSITIVE_INFINITY, Integer.MIN_VALUE);
+                    break;
+                }
+                dispatch(round, next.getTime(), next.getCustomer().getId());
+                route(next);
+                if (routedProcess >= 0) {
+                    processes[routedProcess].arrive(next, routedServerId, routedServe);
+                }
+                round++;
+            }
+
+            // queues are taken up to the latest finite event time of all processes, before
+            // the events at infinite times (after infinite rests) are processed
+            double endTime = statistics.getTime();
+            for (LogicalProcess process : processes) {
+                endTime = Math.max(endTime, process.getStatistics().getTime());
+            }
+            round++;
+            for (LogicalProcess process : processes) {
+                process.finishing = true;
+                process.endTime = endTime;
+                process.dispatched = round;
+                LockSupport.unpark(process.thread);
+            }
+            join(threads);
+            checkProcesses();
+            finished = true;
+            statistics.advanceTime(endTime);
+            for (LogicalProcess process : processes) {
+                statistics.addAll(process.getStatistics());
+            }
+            return statistics;
+        } finally {
+            if (!finished) {
+                // the router or a process failed, every other process is told to exit
+                for (LogicalProcess process : processes) {
+                    process.stopped = true;
+                    LockSupport.unpark(process.thread);
+                }
+                join(threads);
+            }
+        }
+    }
+
+    // waits for the threads of all processes to exit, which they do once told to
+    private static void join(List<Thread> threads) {
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // routes the customer of the given arrival as Simulator.processEvent does, given the
+    // servers of all processes up to the arrival
+    private void route(Event arrival) {
+        Customer customer = arrival.getCustomer();
+        for (int p = 0; p < processes.length; p++) {
+            int serverId = processes[p].getServerIndex().firstIdle();
+            if (serverId > 0) {
+                setRoute(p, serverId, true);
+                return;
+            }
+        }
+        if (customer.isTypical()) {
+            for (int p = 0; p < processes.length; p++) {
+                int serverId = processes[p].getServerIndex().firstWithVacancy();
+                if (serverId > 0) {
+                    setRoute(p, serverId, false);
+                    return;
+                }
+            }
+        } else {
+            int shortest = -1;
+            for (int p = 0; p < processes.length; p++) {
+                int length = processes[p].getServerIndex().shortestQLength();
+                if (length < maxQLength
+                    && (shortest < 0 || length < processes[shortest].getServerIndex()
+                        .shortestQLength())) {
+                    shortest = p;
+                }
+            }
+            if (shortest >= 0) {
+                setRoute(shortest,
+                    processes[shortest].getServerIndex().shortestWithVacancy(), false);
+                return;
+            }
+        }
+        // customer leaves, nobody observes the leaving event
+        setRoute(-1, 0, false);
+        statistics.advanceTime(arrival.getTime());
+        statistics.addNumLeft(customer.isGreedy());
+    }
+
+    private void setRoute(int process, int serverId, boolean serve) {
+        routedProcess = process;
+        routedServerId = serverId;
+        routedServe = serve;
+    }
+
+    // dispatches the processes with events before the given bound for the given round,
+    // and waits for their null messages
+    private void dispatch(int round, double boundTime, int boundCustomerId) {
+        for (LogicalProcess process : processes) {
+            if (process.hasEventBefore(boundTime, boundCustomerId)) {
+                process.boundTime = boundTime;
+                process.boundCustomerId = boundCustomerId;
+                process.dispatched = round;
+                LockSupport.unpark(process.thread);
+            }
+        }
+        for (LogicalProcess process : processes) {
+            int spins = 0;
+            while (process.dispatched == round && process.reached < round) {
+                spins = backOff(spins);
+            }
+        }
+        checkProcesses();
+    }
+
+    private void checkProcesses() {
+        for (LogicalProcess process : processes) {
+            if (process.failure != null) {
+                throw new IllegalStateException("partition failed", process.failure);
+            }
+        }
+    }
+
+    private void runProcess(LogicalProcess process) {
+        try {
+            int seen = -1;
+            int spins = 0;
+            while (true) {
+                int round = process.dispatched;
+                if (round == seen) {
+                    if (process.stopped) {
+                        return;
+                    }
+                    spins = backOff(spins);
+                    continue;
+                }
+                spins = 0;
+                seen = round;
+                if (process.finishing) {
+                    process.finish(process.endTime);
+                    process.reached = round;
+                    return;
+                }
+                process.processUntil(process.boundTime, process.boundCustomerId);
+                process.reached = round;
+                LockSupport.unpark(router);
+            }
+        } catch (RuntimeException | Error ex) {
+            process.failure = ex;
+            process.reached = Integer.MAX_VALUE;
+            LockSupport.unpark(router);
+        }
+    }
+
+    /**
+     * Creates the servers of a simulation as Simulator does, human servers first.
+     * @param numOfHumanServers number of HumanServers
+     * @param numOfSelfCheckOuts number of SelfCheckOuts
+     * @param maxQLength length of customer queue each Server can have
+     * @return servers in order of id
+     */
+    static List<Server> newServers(int numOfHumanServers, int numOfSelfCheckOuts, 
+        int maxQLength) {
+        List<Server> servers = new ArrayList<>();
+        SelfCheckOut mainSelfCheckOut = null;
+        for (int i = 0; i < numOfHumanServers; i++) {
+            servers.add(new HumanServer(servers.size() + 1, maxQLength));
+        }
+        for (int i = 0; i < numOfSelfCheckOuts; i++) {
+            if (i == 0) {
+                mainSelfCheckOut = new SelfCheckOut(servers.size() + 1, maxQLength);
+                servers.add(mainSelfCheckOut);
+            } else {
+                servers.add(
+                    new SelfCheckOut(servers.size() + 1, maxQLength, mainSelfCheckOut));
+            }
+        }
+        return servers;
+    }
+
+    /**
+     * Splits servers into up to the given number of partitions of consecutive ids and 
+     * about the same size, where a partition may only start at a human server or the 
+     * first self-checkout counter, so that self-checkouts sharing a queue are together.
+     * @param numOfHumanServers number of HumanServers
+     * @param numOfServers number of servers
+     * @param numOfPartitions maximum number of partitions
+     * @return id of the first server of each partition, followed by numOfServers + 1
+     */
+    static int[] partition(int numOfHumanServers, int numOfServers, int numOfPartitions) {
+        if (numOfPartitions < 1) {
+            throw new IllegalArgumentException("number of partitions must be positive");
+        }
+        int partitionSize = Math.max(1,
+            (numOfServers + numOfPartitions - 1) / numOfPartitions);
+        List<Integer> firstIds = new ArrayList<>();
+        for (int id = 1; id <= numOfServers; id++) {
+            if (id == 1
+                || id <= numOfHumanServers + 1 && id - firstIds.get(firstIds.size() - 1)
+                    >= partitionSize) {
+                firstIds.add(id);
+            }
+        }
+        firstIds.add(numOfServers + 1);
+        return firstIds.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Returns the number of customer queues arriving customers may join among the servers
+     * of the given ids: those of the human servers and the shared queue of self-checkouts.
+     * @param first id of the first server
+     * @param last id of the last server
+     * @param numOfHumanServers number of HumanServers
+     * @param numOfSelfCheckOuts number of SelfCheckOuts
+     * @return number of queues, of the first servers of the range
+     */
+    static int numOfQueues(int first, int last, int numOfHumanServers, 
+        int numOfSelfCheckOuts) {
+        int numOfQueues = Math.max(0, Math.min(last, numOfHumanServers) - first + 1);
+        if (numOfSelfCheckOuts > 0 && first <= numOfHumanServers + 1
+            && numOfHumanServers + 1 <= last) {
+            numOfQueues++;
+        }
+        return numOfQueues;
+    }
+
+    /**
+     * Busy-waits briefly, then yields a few times, then parks so that waiting threads take
+     * no core from busy ones, where the awaited thread unparks the caller once it has
+     * published what the caller waits for, and the caller checks again on every return.
+     * @param spins number of times the caller has waited so far
+     * @return number of times the caller has waited, including this time
+     */
+    private static int backOff(int spins) {
+        if (spins < SPINS) {
+            Thread.onSpinWait();
+        } else if (spins < SPINS + YIELDS) {
+            Thread.yield();
+        } else {
+            LockSupport.park();
+        }
+        return spins + 1;
+    }
+}
@@ -0,0 +1,38 @@
+package cs2030.simulator;
+
+import java.util.PriorityQueue;
+
+/**
+ * PriorityEventQueue class implementing the event queue with a PriorityQueue ordered by
+ * EventComparator, kept as the reference implementation for the other event queues.
+ */
+public class PriorityEventQueue implements EventQueue {
+    private final PriorityQueue<Event> eventQ;
+
+    /**
+     * Constructs an empty event queue backed by a PriorityQueue.
+     */
+    public PriorityEventQueue() {
+        this.eventQ = new PriorityQueue<>(new EventComparator());
+    }
+
+    @Override
+    public void add(Event event) {
+        eventQ.add(event);
+    }
+
+    @Override
+    public Event poll() {
+        return eventQ.poll();
+    }
+
+    @Override
+    public Event peek() {
+        return eventQ.peek();
+    }
+
+    @Override
+    public int size() {
+        return eventQ.size();
+    }
+}
@@ -0,0 +1,63 @@
+package cs2030.simulator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * RandomArrivalSource class generating a fixed number of customer arrivals from the
+ * RandomGenerator, where the type of each customer and the time to the next arrival are
+ * only drawn when that customer's arrival is requested.
+ */
+class RandomArrivalSource implements ArrivalSource {
+    private final RandomGenerator randomGenerator;
+    private final EventFactory eventFactory;
+    private final double greedyProb;
+    private int numOfCustomersLeft;
+    private double arrTimeStamp;
+
+    /**
+     * Constructs an arrival source generating the given number of customers, the first
+     * of whom arrives at time 0.
+     * @param randomGenerator random generator for customer types and inter-arrival times
+     * @param eventFactory factory creating the arrival events
+     * @param numOfCustomers number of customers that will arrive
+     * @param greedyProb probability of an arriving customer being a greedy customer
+     */
+    RandomArrivalSource(RandomGenerator randomGenerator, EventFactory eventFactory,
+        int numOfCustomers, double greedyProb) {
+        this.randomGenerator = randomGenerator;
+        this.eventFactory = eventFactory;
+        this.greedyProb = greedyProb;
+        this.numOfCustomersLeft = numOfCustomers;
+        this.arrTimeStamp = 0;
+    }
+
+    @Override
+    public boolean hasNextArrival() {
+        return numOfCustomersLeft > 0;
+    }
+
+    @Override
+    public Event nextArrival() {
+        // draws are made in the same order as when all arrivals were generated upfront,
+        // each stream (customer type and inter-arrival time) has its own Random
+        boolean greedy = randomGenerator.genCustomerType() < greedyProb;
+        Event arrival = eventFactory.newArrivalEvent(arrTimeStamp, greedy);
+        arrTimeStamp += randomGenerator.genInterArrivalTime();
+        numOfCustomersLeft--;
+        return arrival;
+    }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(numOfCustomersLeft);
+        out.writeDouble(arrTimeStamp);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        numOfCustomersLeft = in.readInt();
+        arrTimeStamp = in.readDouble();
+    }
+}
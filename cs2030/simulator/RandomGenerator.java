@@ -0,0 +1,182 @@
+package cs2030.simulator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * RandomGenerator class drawing the random quantities of a Simulator, each kind from its
+ * own RandomStream. Durations follow the given Distributions and are generated in blocks
+ * by Variates. If keyed, the draws made for a customer or server come from a KeyedStream 
+ * of that customer or server instead, so that they do not depend on the order in which
+ * the events of different servers are processed.
+ */
+public class RandomGenerator {
+    // indices of the streams of a base seed
+    private static final int ARRIVAL = 0;
+    private static final int SERVICE = 1;
+    private static final int REST = 2;
+    private static final int REST_PERIOD = 3;
+    private static final int CUSTOMER_TYPE = 4;
+    // only used if self-checkouts have their own service time distribution
+    private static final int SELF_CHECK_OUT_SERVICE = 5;
+
+    private final Variates interArrivalTimes;
+    private final Variates humanServiceTimes;
+    private final Variates selfCheckOutServiceTimes;
+    private final RandomStream rngRest;
+    private final Variates restPeriods;
+    private final RandomStream rngCustomerType;
+
+    // draws keyed by customer or server, null if not keyed
+    private final KeyedStream keyed;
+    private final Distribution humanServiceTime;
+    private final Distribution selfCheckOutServiceTime;
+    private final Distribution restPeriod;
+    // number of rest decisions and rest periods drawn so far for each server id
+    private int[] numOfRestDecisions = new int[0];
+    private int[] numOfRestPeriods = new int[0];
+
+    /**
+     * Constructs a random generator of durations of the given distributions whose streams
+     * are created by the given source. If both kinds of servers have the same service time
+     * distribution (object), their service times are drawn from the same stream.
+     * @param baseSeed base seed of the streams
+     * @param interArrivalTime distribution of the time between arrivals
+     * @param humanServiceTime distribution of the service time of HumanServers
+     * @param selfCheckOutServiceTime distribution of the service time of SelfCheckOuts
+     * @param restPeriod distribution of the rest period of servers
+     * @param source source of the streams
+     * @param keyed true if service times are keyed by customer, and rest decisions and 
+     *     rest periods by server, where keyed draws do not come from the source
+     */
+    RandomGenerator(int baseSeed, Distribution interArrivalTime, Distribution humanServiceTime,
+        Distribution selfCheckOutServiceTime, Distribution restPeriod, RandomSource source,
+        boolean keyed) {
+        this.interArrivalTimes = new Variates(interArrivalTime, 
+            source.newStream(baseSeed, ARRIVAL));
+        this.humanServiceTimes = new Variates(humanServiceTime, 
+            source.newStream(baseSeed, SERVICE));
+        this.selfCheckOutServiceTimes = selfCheckOutServiceTime == humanServiceTime
+            ? humanServiceTimes 
+            : new Variates(selfCheckOutServiceTime, 
+                source.newStream(baseSeed, SELF_CHECK_OUT_SERVICE));
+        this.rngRest = source.newStream(baseSeed, REST);
+        this.restPeriods = new Variates(restPeriod, source.newStream(baseSeed, REST_PERIOD));
+        this.rngCustomerType = source.newStream(baseSeed, CUSTOMER_TYPE);
+        this.keyed = keyed ? new KeyedStream(baseSeed) : null;
+        this.humanServiceTime = humanServiceTime;
+        this.selfCheckOutServiceTime = selfCheckOutServiceTime;
+        this.restPeriod = restPeriod;
+    }
+
+    double genInterArrivalTime() {
+        return interArrivalTimes.next();
+    }
+
+    /**
+     * Draws the service time of the given customer at the given server.
+     * @param server server serving the customer
+     * @param customer customer being served
+     * @return service time from the distribution of the server
+     */
+    double genServiceTime(Server server, Customer customer) {
+        if (keyed != null) {
+            keyed.reset(SERVICE, customer.getId(), 0);
+            return server.isHumanServer() ? humanServiceTime.sample(keyed) 
+                : selfCheckOutServiceTime.sample(keyed);
+        }
+        return server.isHumanServer() ? humanServiceTimes.next() 
+            : selfCheckOutServiceTimes.next();
+    }
+
+    /**
+     * Draws the number deciding whether the given server rests after serving a customer.
+     * @param server server done serving a customer
+     * @return uniform number between 0 and 1
+     */
+    double genRandomRest(Server server) {
+        if (keyed != null) {
+            numOfRestDecisions = counted(numOfRestDecisions, server.id);
+            return keyed.reset(REST, server.id, numOfRestDecisions[server.id]++).nextDouble();
+        }
+        return rngRest.nextDouble();
+    }
+
+    /**
+     * Draws the rest period of the given server.
+     * @param server server starting to rest
+     * @return rest period from the rest period distribution
+     */
+    double genRestPeriod(Server server) {
+        if (keyed != null) {
+            numOfRestPeriods = counted(numOfRestPeriods, server.id);
+            return restPeriod.sample(
+                keyed.reset(REST_PERIOD, server.id, numOfRestPeriods[server.id]++));
+        }
+        return restPeriods.next();
+    }
+
+    double genCustomerType() {
+        return rngCustomerType.nextDouble();
+    }
+
+    /**
+     * Writes the position of every stream, so that readState continues the same draws.
+     * @param out destination of the state
+     * @throws IOException if the state cannot be written
+     * @throws UnsupportedOperationException if a stream cannot be saved
+     */
+    void writeState(DataOutput out) throws IOException {
+        interArrivalTimes.writeState(out);
+        humanServiceTimes.writeState(out);
+        if (selfCheckOutServiceTimes != humanServiceTimes) {
+            selfCheckOutServiceTimes.writeState(out);
+        }
+        Variates.writeStreamState(rngRest, out);
+        restPeriods.writeState(out);
+        Variates.writeStreamState(rngCustomerType, out);
+        writeCounts(numOfRestDecisions, out);
+        writeCounts(numOfRestPeriods, out);
+    }
+
+    /**
+     * Reads the state written by writeState of a generator of the same distributions.
+     * @param in source of the state
+     * @throws IOException if the state cannot be read
+     */
+    void readState(DataInput in) throws IOException {
+        interArrivalTimes.readState(in);
+        humanServiceTimes.readState(in);
+        if (selfCheckOutServiceTimes != humanServiceTimes) {
+            selfCheckOutServiceTimes.readState(in);
+        }
+        Variates.readStreamState(rngRest, in);
+        restPeriods.readState(in);
+        Variates.readStreamState(rngCustomerType, in);
+        numOfRestDecisions = readCounts(in);
+        numOfRestPeriods = readCounts(in);
+    }
+
+    private static void writeCounts(int[] counts, DataOutput out) throws IOException {
+        out.writeInt(counts.length);
+        for (int count : counts) {
+            out.writeInt(count);
+        }
+    }
+
+    private static int[] readCounts(DataInput in) throws IOException {
+        int[] counts = new int[in.readInt()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = in.readInt();
+        }
+        return counts;
+    }
+
+    // returns the counts, grown if needed to hold the count of the given server id
+    private static int[] counted(int[] counts, int serverId) {
+        return serverId < counts.length ? counts 
+            : Arrays.copyOf(counts, Math.max(serverId + 1, 2 * counts.length));
+    }
+}
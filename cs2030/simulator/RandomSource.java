@@ -0,0 +1,43 @@
+package cs2030.simulator;
+
+/**
+ * RandomSource interface representing the kind of random streams used by a Simulator, 
+ * creating the stream of the given index of the given base seed. Streams of different
+ * indices (or base seeds) are independent, and the same base seed and index always give 
+ * the same stream.
+ */
+@FunctionalInterface
+public interface RandomSource {
+    /**
+     * Creates stream number index of the given base seed.
+     * @param baseSeed base seed of the simulator
+     * @param index index of the stream among the streams of the simulator
+     * @return new random stream
+     */
+    RandomStream newStream(int baseSeed, int index);
+
+    /**
+     * Returns the source of the original RandomGenerator, where stream i is the sequence
+     * of java.util.Random seeded with (baseSeed + i), reproducing its traces exactly.
+     * @return source compatible with java.util.Random
+     */
+    static RandomSource javaRandom() {
+        return (baseSeed, index) -> new JavaRandomStream(baseSeed + index);
+    }
+
+    /**
+     * Returns the source of splittable Xoroshiro128Streams, where stream i is the stream 
+     * seeded with the base seed jumped ahead i times, being 2^64 draws apart from the 
+     * other streams of the same base seed.
+     * @return source of splittable streams
+     */
+    static RandomSource xoroshiro() {
+        return (baseSeed, index) -> {
+            Xoroshiro128Stream stream = new Xoroshiro128Stream(baseSeed);
+            for (int i = 0; i < index; i++) {
+                stream.jump();
+            }
+            return stream;
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package cs2030.simulator;
+
+/**
+ * RandomStream interface representing one stream of pseudorandom numbers, from which the
+ * RandomGenerator draws one kind of random quantity (arrivals, services, rests, etc.).
+ */
+public interface RandomStream {
+    /**
+     * Returns the next pseudorandom double uniformly distributed in [0, 1).
+     * @return next uniform double in [0, 1)
+     */
+    double nextDouble();
+
+    /**
+     * Returns the next pseudorandom long, all 2^64 values being equally likely.
+     * @return next uniform long
+     */
+    long nextLong();
+
+    /**
+     * Returns the state of this stream, from which restoreState continues the same 
+     * sequence, so that a simulator can be checkpointed.
+     * @return state of this stream
+     * @throws UnsupportedOperationException if the state of this stream cannot be saved
+     */
+    default long[] saveState() {
+        throw new UnsupportedOperationException(getClass().getName() + " cannot be saved");
+    }
+
+    /**
+     * Sets this stream to the given state, returned by saveState of a stream of the same 
+     * class.
+     * @param state state of a stream
+     * @throws UnsupportedOperationException if the state of this stream cannot be saved
+     */
+    default void restoreState(long[] state) {
+        throw new UnsupportedOperationException(getClass().getName() + " cannot be saved");
+    }
+}
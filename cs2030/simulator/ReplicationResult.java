@@ -0,0 +1,84 @@
+package cs2030.simulator;
+
+import java.util.List;
+
+/**
+ * ReplicationResult class representing the statistics of independent replications of a
+ * scenario, aggregated into an estimate of each metric.
+ */
+public class ReplicationResult {
+    private final List<Statistics> statistics;
+    private final Estimate avgWaitingTime;
+    private final Estimate numServed;
+    private final Estimate numLeft;
+    private final LogHistogram waitingTimes;
+    private final LogHistogram sojournTimes;
+
+    /**
+     * Constructs the result of the replications with the given statistics.
+     * @param statistics statistics of each replication, in order of replication
+     */
+    ReplicationResult(List<Statistics> statistics) {
+        this.statistics = List.copyOf(statistics);
+        int n = statistics.size();
+        double[] avgWaitingTimes = new double[n];
+        double[] numsServed = new double[n];
+        double[] numsLeft = new double[n];
+        this.waitingTimes = new LogHistogram();
+        this.sojournTimes = new LogHistogram();
+        for (int i = 0; i < n; i++) {
+            Statistics s = statistics.get(i);
+            avgWaitingTimes[i] = s.getAvgWaitingTime();
+            numsServed[i] = s.getNumServed();
+            numsLeft[i] = s.getNumLeft();
+            waitingTimes.addAll(s.getWaitingTimes());
+            sojournTimes.addAll(s.getSojournTimes());
+        }
+        this.avgWaitingTime = Estimate.of(avgWaitingTimes);
+        this.numServed = Estimate.of(numsServed);
+        this.numLeft = Estimate.of(numsLeft);
+    }
+
+    /**
+     * Returns the statistics of each replication, in order of replication.
+     * @return statistics of each replication
+     */
+    public List<Statistics> getStatistics() {
+        return statistics;
+    }
+
+    public Estimate getAvgWaitingTime() {
+        return avgWaitingTime;
+    }
+
+    public Estimate getNumServed() {
+        return numServed;
+    }
+
+    public Estimate getNumLeft() {
+        return numLeft;
+    }
+
+    /**
+     * Returns the distribution of waiting times of all replications combined.
+     * @return merged histogram of waiting times
+     */
+    public LogHistogram getWaitingTimes() {
+        return waitingTimes;
+    }
+
+    /**
+     * Returns the distribution of sojourn times of all replications combined.
+     * @return merged histogram of sojourn times
+     */
+    public LogHistogram getSojournTimes() {
+        return sojournTimes;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + avgWaitingTime + " " + numServed + " " + numLeft + "] over "
+            + statistics.size() + " replications" + System.lineSeparator()
+            + "waiting " + waitingTimes + " sojourn " + sojournTimes;
+    }
+}
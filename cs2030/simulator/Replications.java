@@ -0,0 +1,69 @@
+package cs2030.simulator;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Replications class running independent replications of a scenario (each with its own 
+ * base seed) concurrently on a fork-join pool. Every replication is a separate Simulator
+ * with its own servers and customer ids, so replications do not interfere.
+ */
+public class Replications {
+    // purpose of the keyed draws of the base seeds, apart from those of RandomGenerator
+    private static final int BASE_SEED = -1;
+
+    private final Scenario scenario;
+    private final SimulatorOptions options;
+    private final int parallelism;
+
+    /**
+     * Constructs a runner of replications of the given scenario using all available cores.
+     * @param scenario scenario to be replicated
+     * @param options engine options of each replication
+     */
+    public Replications(Scenario scenario, SimulatorOptions options) {
+        this(scenario, options, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a runner of replications of the given scenario using up to the given 
+     * number of threads.
+     * @param scenario scenario to be replicated
+     * @param options engine options of each replication
+     * @param parallelism maximum number of replications to run at the same time
+     */
+    public Replications(Scenario scenario, SimulatorOptions options, int parallelism) {
+        this.scenario = scenario;
+        // nothing observes the events of a run
+        this.options = options.withStatisticsOnly(true);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Runs the given number of replications, where the base seed of replication i is 
+     * drawn from the SplitMix64 stream keyed by the scenario's base seed and i. Seeds that
+     * are close, such as (base seed + 6i), would start java.util.Random streams with 
+     * strongly correlated first draws, while scrambled seeds are far apart.
+     * @param numOfReplications number of replications to run
+     * @return aggregated result of the replications
+     */
+    public ReplicationResult run(int numOfReplications) {
+        KeyedStream seeds = new KeyedStream(scenario.getBaseSeed());
+        int[] baseSeeds = IntStream.range(0, numOfReplications)
+            .map(i -> (int) (seeds.reset(BASE_SEED, i, 0).nextLong() >>> 32))
+            .toArray();
+        return run(baseSeeds);
+    }
+
+    /**
+     * Runs one replication for each of the given base seeds.
+     * @param baseSeeds base seed of each replication
+     * @return aggregated result of the replications, in order of the given seeds
+     */
+    public ReplicationResult run(int[] baseSeeds) {
+        Statistics[] statistics = new Statistics[baseSeeds.length];
+        ParallelJobs.run(baseSeeds.length, parallelism, i -> statistics[i] = 
+            scenario.withBaseSeed(baseSeeds[i]).newSimulator(options).run());
+        return new ReplicationResult(Arrays.asList(statistics));
+    }
+}
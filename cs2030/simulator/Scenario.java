@@ -0,0 +1,139 @@
+package cs2030.simulator;
+
+/**
+ * Scenario class representing one configuration of the simulator, being the tuple of 
+ * properties read by Main, from which any number of independent Simulators can be created.
+ */
+public class Scenario {
+    private final int baseSeed;
+    private final int numOfHumanServers;
+    private final int numOfSelfCheckOuts;
+    private final int maxQLength;
+    private final int numOfCustomers;
+    private final double arrivalRate;
+    private final double serviceRate;
+    private final double restingRate;
+    private final double restProb;
+    private final double greedyProb;
+
+    /**
+     * Constructs a scenario with the given properties.
+     * @param baseSeed base seed of RandomGenerator
+     * @param numOfHumanServers number of HumanServers
+     * @param numOfSelfCheckOuts number of SelfCheckOuts
+     * @param maxQLength length of customer queue each Server can have 
+     *     (exclusive of customer being served)
+     * @param numOfCustomers number of Customers that will arrive
+     * @param arrivalRate arrival rate of RandomGenerator
+     * @param serviceRate service rate of RandomGenerator
+     * @param restingRate resting rate of RandomGenerator
+     * @param restProb probability of a server resting after it finishes serving a customer
+     * @param greedyProb probability of an arriving customer being a greedy customer
+     */
+    public Scenario(int baseSeed, int numOfHumanServers, int numOfSelfCheckOuts, 
+        int maxQLength, int numOfCustomers, double arrivalRate, double serviceRate, 
+        double restingRate, double restProb, double greedyProb) {
+        this.baseSeed = baseSeed;
+        this.numOfHumanServers = numOfHumanServers;
+        this.numOfSelfCheckOuts = numOfSelfCheckOuts;
+        this.maxQLength = maxQLength;
+        this.numOfCustomers = numOfCustomers;
+        this.arrivalRate = arrivalRate;
+        this.serviceRate = serviceRate;
+        this.restingRate = restingRate;
+        this.restProb = restProb;
+        this.greedyProb = greedyProb;
+    }
+
+    /**
+     * Reads the next scenario from the given input, being the 10 numbers of the scenario
+     * in the order of the constructor.
+     * @param in input of scenarios
+     * @return scenario read
+     * @throws java.util.NoSuchElementException if the input ends within the scenario
+     * @throws java.util.InputMismatchException if a number of the scenario is invalid
+     */
+    public static Scenario read(InputTokenizer in) {
+        return new Scenario(in.nextInt(), in.nextInt(), in.nextInt(), in.nextInt(), 
+            in.nextInt(), in.nextDouble(), in.nextDouble(), in.nextDouble(), in.nextDouble(),
+            in.nextDouble());
+    }
+
+    public int getBaseSeed() {
+        return baseSeed;
+    }
+
+    /**
+     * Returns the same scenario with the given base seed.
+     * @param baseSeed new base seed of RandomGenerator
+     * @return scenario with the given base seed
+     */
+    public Scenario withBaseSeed(int baseSeed) {
+        return new Scenario(baseSeed, numOfHumanServers, numOfSelfCheckOuts, maxQLength,
+            numOfCustomers, arrivalRate, serviceRate, restingRate, restProb, greedyProb);
+    }
+
+    /**
+     * Returns the same scenario with the given number of SelfCheckOuts.
+     * @param numOfSelfCheckOuts new number of SelfCheckOuts
+     * @return scenario with the given number of SelfCheckOuts
+     */
+    public Scenario withNumOfSelfCheckOuts(int numOfSelfCheckOuts) {
+        return new Scenario(baseSeed, numOfHumanServers, numOfSelfCheckOuts, maxQLength,
+            numOfCustomers, arrivalRate, serviceRate, restingRate, restProb, greedyProb);
+    }
+
+    /**
+     * Returns the same scenario with the given rest probability.
+     * @param restProb new probability of a server resting after serving a customer
+     * @return scenario with the given rest probability
+     */
+    public Scenario withRestProb(double restProb) {
+        return new Scenario(baseSeed, numOfHumanServers, numOfSelfCheckOuts, maxQLength,
+            numOfCustomers, arrivalRate, serviceRate, restingRate, restProb, greedyProb);
+    }
+
+    /**
+     * Returns the same scenario with the given greedy probability.
+     * @param greedyProb new probability of an arriving customer being a greedy customer
+     * @return scenario with the given greedy probability
+     */
+    public Scenario withGreedyProb(double greedyProb) {
+        return new Scenario(baseSeed, numOfHumanServers, numOfSelfCheckOuts, maxQLength,
+            numOfCustomers, arrivalRate, serviceRate, restingRate, restProb, greedyProb);
+    }
+
+    /**
+     * Creates a new simulator of this scenario with the given engine options.
+     * @param options engine options of the simulator
+     * @return new simulator of this scenario
+     */
+    public Simulator newSimulator(SimulatorOptions options) {
+        return new Simulator(baseSeed, numOfHumanServers, numOfSelfCheckOuts, maxQLength,
+            numOfCustomers, arrivalRate, serviceRate, restingRate, restProb, greedyProb, 
+            options);
+    }
+
+    /**
+     * Creates a new simulator of this scenario as a what-if branch of the given fork, 
+     * sharing the state of the fork until it changes it.
+     * @param fork fork of a simulator of a scenario differing from this one in its rest 
+     *     probability, greedy probability or (fewer) SelfCheckOuts only
+     * @param options engine options of the simulator forked, which must not pool events
+     * @return new simulator of the branch
+     * @throws IllegalArgumentException if this scenario cannot branch from the fork
+     */
+    Simulator newBranch(SimulatorFork fork, SimulatorOptions options) {
+        Distribution serviceTime = Distribution.exponential(serviceRate);
+        return new Simulator(baseSeed, numOfHumanServers, numOfSelfCheckOuts, maxQLength,
+            numOfCustomers, Distribution.exponential(arrivalRate), serviceTime, serviceTime,
+            Distribution.exponential(restingRate), restProb, greedyProb, options, fork);
+    }
+
+    @Override
+    public String toString() {
+        return baseSeed + " " + numOfHumanServers + " " + numOfSelfCheckOuts + " " 
+            + maxQLength + " " + numOfCustomers + " " + arrivalRate + " " + serviceRate 
+            + " " + restingRate + " " + restProb + " " + greedyProb;
+    }
+}
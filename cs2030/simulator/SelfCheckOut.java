@@ -9,28 +9,42 @@ class SelfCheckOut extends Server {
     // constructor
     /**
      *Constructor for the first self-checkout counter in the simulator.
+     *@param id identifier of this counter
      *@param size maximum length of customer queue that can be handled by this counter
      */
-    SelfCheckOut(int size) {
-        super(size);
+    SelfCheckOut(int id, int size) {
+        super(id, size);
         this.mainSelfCheckOut = this;
     }
 
     // constructor for subsequent SelfCheckOuts
     /**
      * Constructor for subsequent self-checkout counters in the simulator.
+     * @param id identifier of this counter
      * @param size maximum length of customer queue that can be handled by this counter
      * @param mainSelfCheckOut first self-checkout counter created in the simulator 
      *     whose queue is the common shared queue for all self-checkout counters
      */
-    SelfCheckOut(int size, SelfCheckOut mainSelfCheckOut) {
-        super(size);
+    SelfCheckOut(int id, int size, SelfCheckOut mainSelfCheckOut) {
+        // own queue is never used
+        super(id, size, 0);
         this.mainSelfCheckOut = mainSelfCheckOut;
     }
 
+    private SelfCheckOut(SelfCheckOut other, SelfCheckOut mainSelfCheckOut) {
+        super(other);
+        this.mainSelfCheckOut = other.mainSelfCheckOut == other ? this : mainSelfCheckOut;
+    }
+
+    @Override
+    Server copy(SelfCheckOut mainSelfCheckOut) {
+        return new SelfCheckOut(this, mainSelfCheckOut);
+    }
+
     @Override
     public void serveNextCustomer() {
         currCustomer = mainSelfCheckOut.customerQ.poll();
+        updateIndex(mainSelfCheckOut);
     }
 
     @Override
@@ -41,6 +55,7 @@ class SelfCheckOut extends Server {
     @Override
     public void waitList(Customer customer) {
         mainSelfCheckOut.customerQ.add(customer);
+        updateIndex(mainSelfCheckOut);
     }
 
     @Override
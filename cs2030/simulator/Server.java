@@ -1,32 +1,55 @@
 package cs2030.simulator;
 
-import java.util.LinkedList;
-import java.util.Queue;
-
 /**
  * An abstract class representing a Server object that can serve customers in the simulator.
  */
 public abstract class Server {
     protected Customer currCustomer;
-    protected final Queue<Customer> customerQ;
+    protected final CustomerQueue customerQ;
     protected final int maxQLength;
     protected final int id;
-    private static int count = 0;
     private boolean resting = false;
+    private ServerIndex index = null;
 
     /**
-     *Constructor for an indexed (from 1) idle server who can serve and waitlist customers up 
-     *to (maxQLength) number of waiting customers, for use by concrete sub-classes.
+     *Constructor for an idle server of the given id (servers of a simulator are indexed from 1)
+     *who can serve and waitlist customers up to (maxQLength) number of waiting customers,
+     *for use by concrete sub-classes.
+     *@param id identifier of this server
      *@param maxQLength maximum length of customer queue that can be handled by this server
      */
     // constructor
-    protected Server(int maxQLength) {       
+    protected Server(int id, int maxQLength) {       
+        this(id, maxQLength, maxQLength);
+    }
+
+    /**
+     *Constructor for an idle server of the given id who can serve and waitlist customers up
+     *to (maxQLength) number of waiting customers, whose own customer queue holds up to
+     *(qCapacity) customers, for use by concrete sub-classes sharing another server's queue.
+     *@param id identifier of this server
+     *@param maxQLength maximum length of customer queue that can be handled by this server
+     *@param qCapacity capacity of this server's own customer queue
+     */
+    protected Server(int id, int maxQLength, int qCapacity) {       
         // idle server
         this.currCustomer = null;
         this.maxQLength = maxQLength;
-        this.customerQ = new LinkedList<>();
-        count++;
-        this.id = count;
+        this.customerQ = new CustomerQueue(qCapacity);
+        this.id = id;
+    }
+
+    /**
+     *Constructor for a copy of the given server, serving the same customer and holding its
+     *own copy of the given server's customer queue, for use by concrete sub-classes.
+     *@param other server to be copied
+     */
+    protected Server(Server other) {
+        this.currCustomer = other.currCustomer;
+        this.maxQLength = other.maxQLength;
+        this.customerQ = new CustomerQueue(other.customerQ);
+        this.id = other.id;
+        this.resting = other.resting;
     }
 
     /**
@@ -54,6 +77,7 @@ public abstract class Server {
      */
     public void serve(Customer customer) {
         currCustomer = customer;
+        updateIdle();
     }
 
     /**
@@ -61,6 +85,7 @@ public abstract class Server {
      */
     public void serveNextCustomer() {
         currCustomer = customerQ.poll();
+        updateIndex(this);
     }
 
     /**
@@ -69,6 +94,7 @@ public abstract class Server {
     */
     public void waitList(Customer customer) {
         customerQ.add(customer);
+        updateIndex(this);
     }
 
     /**
@@ -77,6 +103,7 @@ public abstract class Server {
      */
     public void clearCurrent() {
         currCustomer = null;
+        updateIdle();
     }
 
     /**
@@ -101,6 +128,7 @@ public abstract class Server {
      */
     public void rest() {
         resting = true;
+        updateIdle();
     }
 
     /**
@@ -108,6 +136,23 @@ public abstract class Server {
      */
     public void back() {
         resting = false;
+        updateIdle();
+    }
+
+    boolean isResting() {
+        return resting;
+    }
+
+    /**
+     *Restores the customer being served and the rest flag of this idle server, whose own
+     *customer queue has been restored by waitList, from a snapshot.
+     *@param customer customer being served, null if none
+     *@param resting true if this server is resting
+     */
+    void restore(Customer customer, boolean resting) {
+        this.currCustomer = customer;
+        this.resting = resting;
+        updateIndex(this);
     }
 
     /**
@@ -119,6 +164,55 @@ public abstract class Server {
         return this.customerQ.size() < other.customerQ.size();
     }
 
+    /**
+     *Sets the index of servers to be kept up to date by this server.
+     *@param index index of the servers of the simulator
+     */
+    void setIndex(ServerIndex index) {
+        this.index = index;
+        updateIndex(this);
+    }
+
+    /**
+     *Records the state of this server in the given index, without keeping the index up to
+     *date, for a server shared between simulators which none of them changes.
+     *@param index index of the servers of a simulator
+     */
+    void addToIndex(ServerIndex index) {
+        index.setIdle(id, canServe());
+        index.setQLength(id, customerQ.size());
+    }
+
+    /**
+     *Records in the index whether this server can serve immediately.
+     */
+    private void updateIdle() {
+        if (index != null) {
+            index.setIdle(id, canServe());
+        }
+    }
+
+    /**
+     *Records in the index whether this server can serve immediately, and the length of the
+     *customer queue used by this server.
+     *@param queueOwner server owning the customer queue used by this server
+     */
+    protected void updateIndex(Server queueOwner) {
+        if (index != null) {
+            index.setIdle(id, canServe());
+            index.setQLength(queueOwner.id, queueOwner.customerQ.size());
+        }
+    }
+
+    /**
+     *Returns a copy of this server, of the same type and state, holding its own copy of
+     *its customer queue and indexed by no simulator.
+     *@param mainSelfCheckOut copy of the first self-checkout counter, whose queue a copy
+     *    of a subsequent self-checkout counter shares, ignored by other servers
+     *@return copy of this server
+     */
+    abstract Server copy(SelfCheckOut mainSelfCheckOut);
+
     abstract boolean isHumanServer();
 
     abstract boolean isSelfCheckOut();
@@ -0,0 +1,143 @@
+package cs2030.simulator;
+
+import java.util.Arrays;
+
+/**
+ * ServerIndex class indexing the servers of a simulator for dispatching arriving customers,
+ * kept up to date by the servers themselves. Idle servers are held in a bitset, and the
+ * lengths of the customer queues that arriving customers may join (those of the human 
+ * servers and the shared queue of the self-checkout counters) in a segment tree of minima,
+ * so that finding a server never scans the list of servers. Ties are broken by server id
+ * (smaller id given priority), as when scanning the servers in order.
+ */
+class ServerIndex {
+    private final int firstServerId;
+    private final long[] idle;
+    private final int[] minQLengths;
+    private final int numOfLeaves;
+    private final int maxQLength;
+
+    /**
+     * Constructs an index of the given number of servers, all idle, where the servers of id
+     * 1 to numOfQueues have customer queues that arriving customers may join, all empty.
+     * @param numOfServers number of servers
+     * @param numOfQueues number of customer queues that arriving customers may join
+     * @param maxQLength maximum length of each customer queue
+     */
+    ServerIndex(int numOfServers, int numOfQueues, int maxQLength) {
+        this(1, numOfServers, numOfQueues, maxQLength);
+    }
+
+    /**
+     * Constructs an index of the given number of servers of consecutive ids from 
+     * firstServerId, all idle, where the first numOfQueues of them have customer queues 
+     * that arriving customers may join, all empty.
+     * @param firstServerId id of the first server
+     * @param numOfServers number of servers
+     * @param numOfQueues number of customer queues that arriving customers may join
+     * @param maxQLength maximum length of each customer queue
+     */
+    ServerIndex(int firstServerId, int numOfServers, int numOfQueues, int maxQLength) {
+        this.firstServerId = firstServerId;
+        this.idle = new long[(numOfServers + 63) >>> 6];
+        for (int i = 0; i < numOfServers; i++) {
+            idle[i >>> 6] |= 1L << i;
+        }
+        int leaves = 1;
+        while (leaves < numOfQueues) {
+            leaves <<= 1;
+        }
+        this.numOfLeaves = leaves;
+        this.minQLengths = new int[2 * leaves];
+        // missing queues are never joined
+        Arrays.fill(minQLengths, leaves + numOfQueues, 2 * leaves, Integer.MAX_VALUE);
+        for (int node = leaves - 1; node > 0; node--) {
+            minQLengths[node] = Math.min(minQLengths[2 * node], minQLengths[2 * node + 1]);
+        }
+        this.maxQLength = maxQLength;
+    }
+
+    /**
+     * Records whether the given server can serve a customer immediately.
+     * @param serverId id of the server
+     * @param isIdle true if the server can serve a customer immediately
+     */
+    void setIdle(int serverId, boolean isIdle) {
+        int i = serverId - firstServerId;
+        if (isIdle) {
+            idle[i >>> 6] |= 1L << i;
+        } else {
+            idle[i >>> 6] &= ~(1L << i);
+        }
+    }
+
+    /**
+     * Records the length of the customer queue of the given server, ignored if arriving
+     * customers may not join that queue.
+     * @param serverId id of the server owning the queue
+     * @param length number of customers in the queue
+     */
+    void setQLength(int serverId, int length) {
+        int node = numOfLeaves + serverId - firstServerId;
+        if (node >= minQLengths.length || minQLengths[node] == Integer.MAX_VALUE) {
+            return;
+        }
+        minQLengths[node] = length;
+        for (node >>>= 1; node > 0; node >>>= 1) {
+            minQLengths[node] = Math.min(minQLengths[2 * node], minQLengths[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Returns the id of the first server that can serve a customer immediately.
+     * @return id of the first idle server, 0 if there is none
+     */
+    int firstIdle() {
+        for (int w = 0; w < idle.length; w++) {
+            if (idle[w] != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(idle[w]) + firstServerId;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the id of the first server whose queue an arriving customer may join.
+     * @return id of the first server with a vacancy in its queue, 0 if there is none
+     */
+    int firstWithVacancy() {
+        if (minQLengths[1] >= maxQLength) {
+            return 0;
+        }
+        int node = 1;
+        while (node < numOfLeaves) {
+            node = minQLengths[2 * node] < maxQLength ? 2 * node : 2 * node + 1;
+        }
+        return node - numOfLeaves + firstServerId;
+    }
+
+    /**
+     * Returns the id of the first server with the shortest queue an arriving customer 
+     * may join.
+     * @return id of the first server with the shortest queue with a vacancy, 0 if none
+     */
+    int shortestWithVacancy() {
+        int shortest = minQLengths[1];
+        if (shortest >= maxQLength) {
+            return 0;
+        }
+        int node = 1;
+        while (node < numOfLeaves) {
+            node = minQLengths[2 * node] == shortest ? 2 * node : 2 * node + 1;
+        }
+        return node - numOfLeaves + firstServerId;
+    }
+
+    /**
+     * Returns the length of the shortest queue an arriving customer may join.
+     * @return length of the shortest queue, Integer.MAX_VALUE if there is no queue
+     */
+    int shortestQLength() {
+        return minQLengths[1];
+    }
+}
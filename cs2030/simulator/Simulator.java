@@ -1,23 +1,58 @@
 package cs2030.simulator;
 
-import java.util.Queue;
-import java.util.PriorityQueue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.function.BiFunction;
 
 /**
  * Simulator class encompassing the logic of the simulator program, where each
  * Simulator has its own queue of events, list of servers, random generator and statistics.
  */
 public class Simulator {
-    private final Queue<Event> eventQ;
+    // "DESS" followed by the version of the snapshot format
+    private static final byte[] SNAPSHOT_MAGIC = {'D', 'E', 'S', 'S'};
+    private static final byte SNAPSHOT_VERSION = 2;
+    private static final State[] STATES = State.values();
+    // kinds of events in a snapshot
+    private static final int CUSTOMER_EVENT = 0;
+    private static final int REST_EVENT = 1;
+    private static final int BACK_EVENT = 2;
+
+    private final EventQueue eventQ;
     private final List<Server> servers;
-    private Statistics statistics;
+    // true for the servers a branch shares with its fork until it first changes them, null
+    // if this simulator is not a branch of a fork
+    private final boolean[] sharedServers;
+    private final ArrivalSource arrivals;
+    private final EventFactory eventFactory;
+    private final boolean statisticsOnly;
+    private final ServerIndex serverIndex;
+    private final Statistics statistics;
     private RandomGenerator randomGenerator;
     private final double restProb;
-    private final double greedyProb;
     private int numOfHumanServers;
     private int numOfSelfCheckOuts;
+    private final int maxQLength;
+    private long numOfEventsProcessed = 0;
+    // end of the warm-up whose statistics are deleted, 0 if none
+    private final double warmUpTime;
+    private final int warmUpCustomers;
+    private boolean warmingUp;
+    // id of the last customer to arrive during the warm-up, whose waiting and sojourn
+    // times are deleted with the warm-up even when observed after it
+    private int lastWarmUpCustomer = 0;
 
     /**
      * Constructs a new simulator with the given properties.
@@ -37,51 +72,231 @@ public class Simulator {
     public Simulator(int baseSeed, int numOfHumanServers, int numOfSelfCheckOuts, 
         int maxQLength, int numOfCustomers, double arrivalRate, double serviceRate, 
         double restingRate, double restProb, double greedyProb) {
+        this(baseSeed, numOfHumanServers, numOfSelfCheckOuts, maxQLength, numOfCustomers,
+            arrivalRate, serviceRate, restingRate, restProb, greedyProb, new SimulatorOptions());
+    }
+
+    /**
+     * Constructs a new simulator with the given properties and engine options.
+     * @param baseSeed base seed of RandomGenerator to be used for this simulator
+     * @param numOfHumanServers number of HumanServers in this simulator
+     * @param numOfSelfCheckOuts number of SelfCheckOuts in this simulator
+     * @param maxQLength length of customer queue each Server can have 
+     *     (exclusive of customer being served)
+     * @param numOfCustomers number of Customers that will arrive in this simulator
+     * @param arrivalRate arrival rate of RandomGenerator
+     * @param serviceRate service rate of RandomGenerator
+     * @param restingRate resting rate of RandomGenerator
+     * @param restProb probability of a server resting after it finishes serving a customer
+     * @param greedyProb probability of an arriving customer being a greedy customer
+     * @param options engine options of this simulator
+     */
+    public Simulator(int baseSeed, int numOfHumanServers, int numOfSelfCheckOuts, 
+        int maxQLength, int numOfCustomers, double arrivalRate, double serviceRate, 
+        double restingRate, double restProb, double greedyProb, SimulatorOptions options) {
+        this(baseSeed, numOfHumanServers, numOfSelfCheckOuts, maxQLength, numOfCustomers,
+            Distribution.exponential(arrivalRate), Distribution.exponential(serviceRate), 
+            Distribution.exponential(restingRate), restProb, greedyProb, options);
+    }
+
+    /**
+     * Constructs a new simulator whose durations follow the given distributions, where all
+     * servers have the same service time distribution.
+     * @param baseSeed base seed of RandomGenerator to be used for this simulator
+     * @param numOfHumanServers number of HumanServers in this simulator
+     * @param numOfSelfCheckOuts number of SelfCheckOuts in this simulator
+     * @param maxQLength length of customer queue each Server can have 
+     *     (exclusive of customer being served)
+     * @param numOfCustomers number of Customers that will arrive in this simulator
+     * @param interArrivalTime distribution of the time between consecutive arrivals
+     * @param serviceTime distribution of the service time of every server
+     * @param restPeriod distribution of the rest period of HumanServers
+     * @param restProb probability of a server resting after it finishes serving a customer
+     * @param greedyProb probability of an arriving customer being a greedy customer
+     * @param options engine options of this simulator
+     */
+    public Simulator(int baseSeed, int numOfHumanServers, int numOfSelfCheckOuts, 
+        int maxQLength, int numOfCustomers, Distribution interArrivalTime, 
+        Distribution serviceTime, Distribution restPeriod, double restProb, 
+        double greedyProb, SimulatorOptions options) {
+        this(baseSeed, numOfHumanServers, numOfSelfCheckOuts, maxQLength, numOfCustomers,
+            interArrivalTime, serviceTime, serviceTime, restPeriod, restProb, greedyProb, 
+            options);
+    }
 
-        this.statistics = new Statistics();
-        this.randomGenerator = new RandomGenerator(baseSeed, arrivalRate, 
-            serviceRate, restingRate);
+    /**
+     * Constructs a new simulator whose durations follow the given distributions, where 
+     * HumanServers and SelfCheckOuts have their own service time distributions.
+     * @param baseSeed base seed of RandomGenerator to be used for this simulator
+     * @param numOfHumanServers number of HumanServers in this simulator
+     * @param numOfSelfCheckOuts number of SelfCheckOuts in this simulator
+     * @param maxQLength length of customer queue each Server can have 
+     *     (exclusive of customer being served)
+     * @param numOfCustomers number of Customers that will arrive in this simulator
+     * @param interArrivalTime distribution of the time between consecutive arrivals
+     * @param humanServiceTime distribution of the service time of HumanServers
+     * @param selfCheckOutServiceTime distribution of the service time of SelfCheckOuts
+     * @param restPeriod distribution of the rest period of HumanServers
+     * @param restProb probability of a server resting after it finishes serving a customer
+     * @param greedyProb probability of an arriving customer being a greedy customer
+     * @param options engine options of this simulator
+     */
+    public Simulator(int baseSeed, int numOfHumanServers, int numOfSelfCheckOuts, 
+        int maxQLength, int numOfCustomers, Distribution interArrivalTime, 
+        Distribution humanServiceTime, Distribution selfCheckOutServiceTime, 
+        Distribution restPeriod, double restProb, double greedyProb, 
+        SimulatorOptions options) {
+        this(baseSeed, numOfHumanServers, numOfSelfCheckOuts, maxQLength, numOfCustomers,
+            interArrivalTime, humanServiceTime, selfCheckOutServiceTime, restPeriod, restProb,
+            greedyProb, options, null);
+    }
+
+    /**
+     * Constructs a new simulator whose durations follow the given distributions, as a 
+     * what-if branch of the given fork if any, which continues from the fork and may differ
+     * from the simulator forked in its rest probability, greedy probability and number of
+     * SelfCheckOuts, where it may have more (idle) SelfCheckOuts. The branch shares the
+     * events, customers and servers of the fork, and copies a server only when it first 
+     * changes it.
+     * @param baseSeed base seed of RandomGenerator to be used for this simulator
+     * @param numOfHumanServers number of HumanServers in this simulator
+     * @param numOfSelfCheckOuts number of SelfCheckOuts in this simulator
+     * @param maxQLength length of customer queue each Server can have 
+     *     (exclusive of customer being served)
+     * @param numOfCustomers number of Customers that will arrive in this simulator
+     * @param interArrivalTime distribution of the time between consecutive arrivals
+     * @param humanServiceTime distribution of the service time of HumanServers
+     * @param selfCheckOutServiceTime distribution of the service time of SelfCheckOuts
+     * @param restPeriod distribution of the rest period of HumanServers
+     * @param restProb probability of a server resting after it finishes serving a customer
+     * @param greedyProb probability of an arriving customer being a greedy customer
+     * @param options engine options of this simulator, which must not pool events
+     * @param fork fork this simulator is a branch of, null if none
+     * @throws IllegalArgumentException if the fork is not of a simulator of the same 
+     *     HumanServers, queue length and engine options, or of fewer SelfCheckOuts, or if 
+     *     the options pool events
+     */
+    Simulator(int baseSeed, int numOfHumanServers, int numOfSelfCheckOuts, 
+        int maxQLength, int numOfCustomers, Distribution interArrivalTime, 
+        Distribution humanServiceTime, Distribution selfCheckOutServiceTime, 
+        Distribution restPeriod, double restProb, double greedyProb, 
+        SimulatorOptions options, SimulatorFork fork) {
+        this(numOfHumanServers, numOfSelfCheckOuts, maxQLength, 
+            new RandomGenerator(baseSeed, interArrivalTime, humanServiceTime, 
+                selfCheckOutServiceTime, restPeriod, options.getRandomSource(), 
+                options.isKeyedRandomNumbers()), 
+            restProb, options, (randomGenerator, eventFactory) -> new RandomArrivalSource(
+                randomGenerator, eventFactory, numOfCustomers, greedyProb), fork);
+    }
+
+    /**
+     * Constructs a new simulator replaying the customer arrivals recorded in the given 
+     * trace, where customers without a recorded service time are served for a duration 
+     * drawn from the distribution of their server.
+     * @param baseSeed base seed of RandomGenerator to be used for this simulator
+     * @param numOfHumanServers number of HumanServers in this simulator
+     * @param numOfSelfCheckOuts number of SelfCheckOuts in this simulator
+     * @param maxQLength length of customer queue each Server can have 
+     *     (exclusive of customer being served)
+     * @param arrivals recorded arrivals of the customers, in order of arrival
+     * @param humanServiceTime distribution of the service time of HumanServers
+     * @param selfCheckOutServiceTime distribution of the service time of SelfCheckOuts
+     * @param restPeriod distribution of the rest period of HumanServers
+     * @param restProb probability of a server resting after it finishes serving a customer
+     * @param options engine options of this simulator
+     */
+    public Simulator(int baseSeed, int numOfHumanServers, int numOfSelfCheckOuts, 
+        int maxQLength, ArrivalTrace arrivals, Distribution humanServiceTime, 
+        Distribution selfCheckOutServiceTime, Distribution restPeriod, double restProb, 
+        SimulatorOptions options) {
+        // no inter-arrival times are drawn
+        this(numOfHumanServers, numOfSelfCheckOuts, maxQLength, 
+            new RandomGenerator(baseSeed, Distribution.deterministic(0), humanServiceTime, 
+                selfCheckOutServiceTime, restPeriod, options.getRandomSource(), 
+                options.isKeyedRandomNumbers()), 
+            restProb, options, 
+            (randomGenerator, eventFactory) -> new TraceArrivalSource(arrivals, eventFactory),
+            null);
+    }
+
+    private Simulator(int numOfHumanServers, int numOfSelfCheckOuts, int maxQLength, 
+        RandomGenerator randomGenerator, double restProb, SimulatorOptions options, 
+        BiFunction<RandomGenerator, EventFactory, ArrivalSource> arrivalSource,
+        SimulatorFork fork) {
+
+        this.randomGenerator = randomGenerator;
         this.restProb = restProb;
-        this.greedyProb = greedyProb;
         this.numOfHumanServers = numOfHumanServers;
         this.numOfSelfCheckOuts = numOfSelfCheckOuts;
+        this.maxQLength = maxQLength;
 
-        // set up servers
+        // set up servers, those of a branch being shared with its fork
         this.servers = new ArrayList<>();
         SelfCheckOut mainSelfCheckOut = null;
-        for (int i = 0; i < numOfHumanServers; i++) {
-            servers.add(new HumanServer(maxQLength)); 
+        if (fork == null) {
+            this.sharedServers = null;
+        } else {
+            if (fork.getNumOfHumanServers() != numOfHumanServers 
+                || fork.getMaxQLength() != maxQLength
+                || fork.getNumOfSelfCheckOuts() > numOfSelfCheckOuts) {
+                throw new IllegalArgumentException("fork of a different simulator");
+            }
+            servers.addAll(fork.getServers());
+            this.sharedServers = new boolean[numOfHumanServers + numOfSelfCheckOuts];
+            Arrays.fill(sharedServers, 0, servers.size(), true);
+            if (fork.getNumOfSelfCheckOuts() > 0 
+                && numOfSelfCheckOuts > fork.getNumOfSelfCheckOuts()) {
+                // added SelfCheckOuts share the queue of the branch's own first SelfCheckOut
+                mainSelfCheckOut = (SelfCheckOut) servers.get(numOfHumanServers).copy(null);
+                servers.set(numOfHumanServers, mainSelfCheckOut);
+                sharedServers[numOfHumanServers] = false;
+            }
+        }
+        for (int i = servers.size(); i < numOfHumanServers; i++) {
+            servers.add(new HumanServer(servers.size() + 1, maxQLength)); 
             // initialise a new idle HumanServer with queue size of maxQLength + 1 (inclusive
             // of customer being served) and add to the list of servers
         }
-        for (int i = 0; i < numOfSelfCheckOuts; i++) {
+        for (int i = servers.size() - numOfHumanServers; i < numOfSelfCheckOuts; i++) {
             if (i == 0) {
-                mainSelfCheckOut = new SelfCheckOut(maxQLength);
+                mainSelfCheckOut = new SelfCheckOut(servers.size() + 1, maxQLength);
                 servers.add(mainSelfCheckOut);
             } else {
-                servers.add(new SelfCheckOut(maxQLength, mainSelfCheckOut));
+                servers.add(
+                    new SelfCheckOut(servers.size() + 1, maxQLength, mainSelfCheckOut));
             }
         }
 
-        // set up arrival events
-        this.eventQ = new PriorityQueue<>(new EventComparator());
-        double arrTimeStamp = 0;
-        // instantiate priority queue of events sorted by time
-        // in the event of same time, events are sorted by customer id
-        for (int i = 0; i < numOfCustomers; i++) {
-            // initialise eventQ with random arrival events
-            if (randomGenerator.genCustomerType() < greedyProb) {
-                this.eventQ.add(
-                    new Event(arrTimeStamp, 
-                        new GreedyCustomer(arrTimeStamp, State.ARRIVES), null)); 
-                arrTimeStamp += this.randomGenerator.genInterArrivalTime();
+        this.statistics = new Statistics(servers.size(), options.isBatchMeans());
+        this.warmUpTime = options.getWarmUpTime();
+        this.warmUpCustomers = options.getWarmUpCustomers();
+        this.warmingUp = warmUpTime > 0 || warmUpCustomers > 0;
+
+        // index servers for dispatching arrivals, where arriving customers may join the 
+        // queues of human servers and the shared queue of the first self-checkout counter
+        this.serverIndex = new ServerIndex(servers.size(), 
+            numOfSelfCheckOuts > 0 ? numOfHumanServers + 1 : numOfHumanServers, maxQLength);
+        for (Server server : servers) {
+            if (sharedServers != null && sharedServers[server.id - 1]) {
+                server.addToIndex(serverIndex);
             } else {
-                this.eventQ.add(
-                    new Event(arrTimeStamp, 
-                        new TypicalCustomer(arrTimeStamp, State.ARRIVES), null)); 
-                arrTimeStamp += this.randomGenerator.genInterArrivalTime();
+                server.setIndex(serverIndex);
             }
         }
+
+        // set up arrival events
+        // event queue polls events sorted by time
+        // in the event of same time, events are sorted by customer id
+        this.eventQ = options.newEventQueue();
+        this.eventFactory = options.newEventFactory();
+        this.statisticsOnly = options.isStatisticsOnly();
+        // only the first arrival is queued, each arrival schedules the next one when processed
+        this.arrivals = arrivalSource.apply(randomGenerator, eventFactory);
+        if (fork == null) {
+            scheduleNextArrival();
+        } else {
+            restore(fork);
+        }
     }
 
     // methods
@@ -109,113 +324,474 @@ public class Simulator {
         return statistics;
     }
 
+    /**
+     * Returns the number of events processed so far, including rest and back events.
+     * @return number of events processed
+     */
+    public long getNumOfEventsProcessed() {
+        return numOfEventsProcessed;
+    }
+
+    /**
+     * Returns a snapshot of the full state of this simulator between events: pending 
+     * events, servers and their queues, customer ids, positions of the random streams,
+     * arrivals and statistics. A simulator constructed with the same properties and 
+     * restored from the snapshot continues exactly as this one, printing the same trace.
+     * @return snapshot in a compact binary format
+     * @throws UnsupportedOperationException if a random stream cannot be saved
+     */
+    public byte[] snapshot() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeState(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Restores the state of the given snapshot into this new simulator, which must have
+     * been constructed with the same properties as the simulator of the snapshot.
+     * @param snapshot snapshot returned by Simulator.snapshot
+     * @throws IllegalStateException if this simulator has already processed events
+     * @throws IllegalArgumentException if the snapshot is not of a simulator of the same
+     *     servers and engine options
+     */
+    public void restore(byte[] snapshot) {
+        restore(snapshot, false);
+    }
+
+    /**
+     * Restores the state of the given snapshot into this new simulator as a what-if branch,
+     * which may differ from the simulator of the snapshot in its rest probability, greedy
+     * probability and number of SelfCheckOuts, where it may have more (idle) SelfCheckOuts.
+     * Everything else, including the draws already buffered, continues from the snapshot,
+     * of which this simulator holds its own copy.
+     * @param snapshot snapshot returned by Simulator.snapshot
+     * @throws IllegalStateException if this simulator has already processed events
+     * @throws IllegalArgumentException if the snapshot is not of a simulator of the same
+     *     HumanServers, queue length and engine options, or of fewer SelfCheckOuts
+     */
+    void restoreBranch(byte[] snapshot) {
+        restore(snapshot, true);
+    }
+
+    /**
+     * Returns a fork of the full state of this simulator between events, from which 
+     * Scenario.newBranch creates what-if branches. The fork shares the pending events and
+     * customers of this simulator, which never change without pooled events, and holds a
+     * copy of its servers, so that this simulator can go on.
+     * @return fork of this simulator
+     * @throws IllegalStateException if this simulator pools its events
+     * @throws UnsupportedOperationException if a random stream cannot be saved
+     */
+    SimulatorFork fork() {
+        if (eventFactory instanceof EventPool) {
+            throw new IllegalStateException("pooled events cannot be shared by a fork");
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeCoreState(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<Server> copies = new ArrayList<>(servers.size());
+        SelfCheckOut mainSelfCheckOut = null;
+        for (Server server : servers) {
+            Server copy = server.copy(mainSelfCheckOut);
+            if (mainSelfCheckOut == null && copy.isSelfCheckOut()) {
+                mainSelfCheckOut = (SelfCheckOut) copy;
+            }
+            copies.add(copy);
+        }
+        return new SimulatorFork(numOfHumanServers, numOfSelfCheckOuts, maxQLength,
+            bytes.toByteArray(), copies, pendingEvents());
+    }
+
+    private void restore(SimulatorFork fork) {
+        if (eventFactory instanceof EventPool) {
+            throw new IllegalArgumentException("pooled events cannot be shared with a fork");
+        }
+        try (DataInputStream in = new DataInputStream(
+            new ByteArrayInputStream(fork.getState()))) {
+            readCoreState(in, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        serveAddedSelfCheckOuts(fork.getNumOfSelfCheckOuts());
+        for (Event e : fork.getEvents()) {
+            eventQ.add(e);
+        }
+    }
+
+    private void restore(byte[] snapshot, boolean branch) {
+        if (numOfEventsProcessed > 0) {
+            throw new IllegalStateException("simulator has already processed events");
+        }
+        if (sharedServers != null) {
+            throw new IllegalStateException("simulator is a branch of a fork");
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot))) {
+            readState(in, branch);
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("truncated snapshot", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeState(DataOutput out) throws IOException {
+        writeCoreState(out);
+        for (Server server : servers) {
+            out.writeBoolean(server.isResting());
+            writeCustomer(server.currCustomer, out);
+            out.writeInt(server.customerQ.size());
+            for (int i = 0; i < server.customerQ.size(); i++) {
+                writeCustomer(server.customerQ.get(i), out);
+            }
+        }
+
+        List<Event> events = pendingEvents();
+        out.writeInt(events.size());
+        for (Event e : events) {
+            out.writeByte(e.isRestEvent() ? REST_EVENT 
+                : e.isBackEvent() ? BACK_EVENT : CUSTOMER_EVENT);
+            out.writeDouble(e.getTime());
+            out.writeInt(e.getServer() == null ? 0 : e.getServer().id);
+            if (!e.isRestEvent() && !e.isBackEvent()) {
+                writeCustomer(e.getCustomer(), out);
+            }
+        }
+    }
+
+    // writes the state of this simulator up to its statistics, without servers and events
+    private void writeCoreState(DataOutput out) throws IOException {
+        out.write(SNAPSHOT_MAGIC);
+        out.writeByte(SNAPSHOT_VERSION);
+        out.writeInt(numOfHumanServers);
+        out.writeInt(numOfSelfCheckOuts);
+        out.writeInt(maxQLength);
+        out.writeDouble(restProb);
+        out.writeBoolean(statisticsOnly);
+
+        out.writeLong(numOfEventsProcessed);
+        out.writeBoolean(warmingUp);
+        out.writeInt(lastWarmUpCustomer);
+        out.writeInt(eventFactory.getNumOfCustomers());
+        arrivals.writeState(out);
+        randomGenerator.writeState(out);
+        statistics.writeState(out);
+    }
+
+    // returns the pending events in order, which are polled and added back, as event 
+    // queues cannot be iterated
+    private List<Event> pendingEvents() {
+        List<Event> events = new ArrayList<>(eventQ.size());
+        while (!eventQ.isEmpty()) {
+            events.add(eventQ.poll());
+        }
+        for (Event e : events) {
+            eventQ.add(e);
+        }
+        return events;
+    }
+
+    private void readState(DataInput in, boolean branch) throws IOException {
+        int snapshotSelfCheckOuts = readCoreState(in, branch);
+        // customers shared by events and queues, by id and state
+        Map<Long, Customer> customers = new HashMap<>();
+        // SelfCheckOuts added by a branch are idle, after the servers of the snapshot
+        for (Server server : servers.subList(0, numOfHumanServers + snapshotSelfCheckOuts)) {
+            boolean resting = in.readBoolean();
+            Customer current = readCustomer(in, customers);
+            for (int i = in.readInt(); i > 0; i--) {
+                server.waitList(readCustomer(in, customers));
+            }
+            server.restore(current, resting);
+        }
+        serveAddedSelfCheckOuts(snapshotSelfCheckOuts);
+        for (int i = in.readInt(); i > 0; i--) {
+            int kind = in.readByte();
+            double time = in.readDouble();
+            int serverId = in.readInt();
+            Server server = serverId == 0 ? null : servers.get(serverId - 1);
+            if (kind == REST_EVENT) {
+                eventQ.add(eventFactory.newRestEvent(time, server));
+            } else if (kind == BACK_EVENT) {
+                eventQ.add(eventFactory.newBackEvent(time, server));
+            } else {
+                eventQ.add(eventFactory.restoreEvent(time, readCustomer(in, customers), 
+                    server));
+            }
+        }
+    }
+
+    // reads the state written by writeCoreState, returning the number of SelfCheckOuts of
+    // the snapshot
+    private int readCoreState(DataInput in, boolean branch) throws IOException {
+        byte[] magic = new byte[SNAPSHOT_MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, SNAPSHOT_MAGIC) || in.readByte() != SNAPSHOT_VERSION) {
+            throw new IllegalArgumentException("not a snapshot of version " 
+                + SNAPSHOT_VERSION);
+        }
+        int snapshotHumanServers = in.readInt();
+        int snapshotSelfCheckOuts = in.readInt();
+        int snapshotQLength = in.readInt();
+        double snapshotRestProb = in.readDouble();
+        boolean snapshotStatisticsOnly = in.readBoolean();
+        if (snapshotHumanServers != numOfHumanServers || snapshotQLength != maxQLength 
+            || snapshotStatisticsOnly != statisticsOnly
+            || (branch ? snapshotSelfCheckOuts > numOfSelfCheckOuts 
+                : snapshotSelfCheckOuts != numOfSelfCheckOuts || snapshotRestProb != restProb)) {
+            throw new IllegalArgumentException("snapshot of a different simulator");
+        }
+
+        // drop the first arrival scheduled by the constructor
+        while (!eventQ.isEmpty()) {
+            eventFactory.release(eventQ.poll(), State.LEAVES);
+        }
+        numOfEventsProcessed = in.readLong();
+        warmingUp = in.readBoolean();
+        lastWarmUpCustomer = in.readInt();
+        eventFactory.restoreNumOfCustomers(in.readInt());
+        arrivals.readState(in);
+        randomGenerator.readState(in);
+        statistics.readState(in);
+        return snapshotSelfCheckOuts;
+    }
+
+    // lets each SelfCheckOut added by a branch serve the next customer waiting for 
+    // SelfCheckOuts, after the given number of SelfCheckOuts of the snapshot
+    private void serveAddedSelfCheckOuts(int snapshotSelfCheckOuts) {
+        for (Server server : servers.subList(numOfHumanServers + snapshotSelfCheckOuts, 
+            servers.size())) {
+            // an added SelfCheckOut serves the next customer waiting for SelfCheckOuts
+            if (server.hasWait()) {
+                Customer waiting = server.getNextCustomer();
+                server.serveNextCustomer();
+                statistics.addQueueLength(-1);
+                eventQ.add(eventFactory.restoreEvent(statistics.getTime(), 
+                    eventFactory.restoreCustomer(waiting.getId(), waiting.getArrivalTime(), 
+                        waiting.isGreedy(), State.SERVED, waiting.getServiceTime()), server));
+            }
+        }
+    }
+
+    private static void writeCustomer(Customer customer, DataOutput out) throws IOException {
+        if (customer == null) {
+            out.writeInt(0);
+            return;
+        }
+        out.writeInt(customer.getId());
+        out.writeByte(customer.getState().ordinal() << 1 | (customer.isGreedy() ? 1 : 0));
+        out.writeDouble(customer.getArrivalTime());
+        out.writeDouble(customer.getServiceTime());
+    }
+
+    private Customer readCustomer(DataInput in, Map<Long, Customer> customers) 
+        throws IOException {
+        int id = in.readInt();
+        if (id == 0) {
+            return null;
+        }
+        int flags = in.readUnsignedByte();
+        double arrivalTime = in.readDouble();
+        double serviceTime = in.readDouble();
+        // a pooled customer is one record whatever the events referring to it
+        return customers.computeIfAbsent((long) id << 8 | flags >>> 1, 
+            key -> eventFactory.restoreCustomer(id, arrivalTime, (flags & 1) != 0, 
+                STATES[flags >>> 1], serviceTime));
+    }
+
+    /**
+     * Processes all events before the given time, such as to warm up the Simulator.
+     * @param time time to process events up to
+     */
+    public void runUntil(double time) {
+        while (hasEvent() && eventQ.peek().getTime() < time) {
+            processEvent();
+        }
+    }
+
+    /**
+     * Processes all remaining events in the Simulator and returns its statistics.
+     * @return statistics of simulator once all events are processed
+     */
+    public Statistics run() {
+        while (hasEvent()) {
+            processEvent();
+        }
+        return statistics;
+    }
+
+    /**
+     * Returns true if the given event, of a customer in the given state, is the first 
+     * event after the warm-up, being at or after the warm-up time, or the arrival of the 
+     * first customer after the warm-up customers.
+     */
+    private boolean isEndOfWarmUp(Event e, State state) {
+        return warmUpTime > 0 && e.getTime() >= warmUpTime && !Double.isInfinite(e.getTime())
+            || warmUpCustomers > 0 && state == State.ARRIVES 
+                && e.getCustomer().getId() > warmUpCustomers;
+    }
+
+    /**
+     * Returns the server of this simulator of the same id as the given server, which may be
+     * a server of the fork this simulator is a branch of, first copying the server if it is
+     * still shared with the fork, so that it can be changed.
+     */
+    private Server writable(Server server) {
+        if (sharedServers == null) {
+            return server;
+        }
+        int i = server.id - 1;
+        if (!sharedServers[i]) {
+            return servers.get(i);
+        }
+        sharedServers[i] = false;
+        // a subsequent SelfCheckOut shares the queue of the first, copied first
+        int mainId = numOfHumanServers + 1;
+        Server copy = servers.get(i).copy(server.isSelfCheckOut() && server.id != mainId 
+            ? (SelfCheckOut) writable(servers.get(mainId - 1)) : null);
+        copy.setIndex(serverIndex);
+        servers.set(i, copy);
+        return copy;
+    }
+
+    /**
+     * Adds the arrival event of the next customer to the event queue, if any.
+     */
+    private void scheduleNextArrival() {
+        if (arrivals.hasNextArrival()) {
+            eventQ.add(arrivals.nextArrival());
+        }
+    }
+
+    /**
+     * Adds the event of the arriving customer of the given event waiting to be served by the
+     * given server, unless nobody observes it since waiting events create no new events.
+     */
+    private void addWaitEvent(Event e, Server server) {
+        if (!statisticsOnly) {
+            eventQ.add(eventFactory.newEvent(e, State.WAITS, server));
+        }
+    }
+
     /**
      * Triggers the processing of the current event in the Simulator, which may 
      * result in more events added to the event queue.
      */
     public void processEvent() {
         Event e = eventQ.poll();
+        // state of customer as of this event (customer may change state in place if pooled)
+        State state = e.getCustomer().getState();
+        // true if customer has no more events once this event is processed
+        boolean customerLeft = false;
+        statistics.advanceTime(e.getTime());
+        if (warmingUp && isEndOfWarmUp(e, state)) {
+            statistics.deleteWarmUp();
+            warmingUp = false;
+        }
 
         if (e.isRestEvent()) {
             // processing a rest event -> let server rest and add subsequent back event
-            Server server = e.getServer();
+            Server server = writable(e.getServer());
             server.rest();
-            eventQ.add(new BackEvent(e.getTime() + randomGenerator.genRestPeriod(), server));
+            double restPeriod = randomGenerator.genRestPeriod(server);
+            statistics.addRestTime(server.id, restPeriod);
+            eventQ.add(eventFactory.newBackEvent(e.getTime() + restPeriod, server));
         } else if (e.isBackEvent()) {
             // processing a back event -> check for any waiting customer and resume serving
             // check server for waitlisted customer
-            Server server = e.getServer();
+            Server server = writable(e.getServer());
             server.back();
             if (server.hasWait()) {
                 // server has waitlisted customer -> serve waitlisted customer
                 Customer nextCustomer = server.getNextCustomer();
                 server.serveNextCustomer();
-                eventQ.add(e.createNewEvent(nextCustomer, State.SERVED));
+                statistics.addQueueLength(-1);
+                eventQ.add(eventFactory.newEvent(e, nextCustomer, State.SERVED));
             } else {
                 // server has no waitlisted customer -> return to idle by previous .clearCurrent()
                 // no new events created
             }
         } else {
             Customer customer = e.getCustomer();
-            if (customer.getState() == State.ARRIVES) {
+            if (state == State.ARRIVES) {
                 boolean haveServer = false;
                 // processing an arrival event
-                // check Server
-                for (Server server : servers) {
-                    if (server.canServe()) {
-                        // Server is idle and can serve immediately -> add served event
-                        server.serve(customer);
-                        eventQ.add(e.createNewEvent(State.SERVED, server));
-                        statistics = statistics.addNumServed();
+                if (warmingUp) {
+                    lastWarmUpCustomer = customer.getId();
+                }
+                // queue the next customer's arrival
+                scheduleNextArrival();
+                // check Server for the first server that is idle
+                int serverId = serverIndex.firstIdle();
+                if (serverId > 0) {
+                    // Server is idle and can serve immediately -> add served event
+                    Server server = writable(servers.get(serverId - 1));
+                    server.serve(customer);
+                    eventQ.add(eventFactory.newEvent(e, State.SERVED, server));
+                    statistics.addNumServed(customer.isGreedy());
+                    haveServer = true;
+                } else {
+                    // waitlist at the first (typical) or first shortest (greedy) queue
+                    // with a vacancy, among human servers and the shared self-checkout queue
+                    serverId = customer.isTypical() 
+                        ? serverIndex.firstWithVacancy() 
+                        : serverIndex.shortestWithVacancy();
+                    if (serverId > 0) {
+                        Server server = writable(servers.get(serverId - 1));
+                        server.waitList(customer);
+                        statistics.addQueueLength(1);
+                        addWaitEvent(e, server);
+                        statistics.addNumServed(customer.isGreedy());
                         haveServer = true;
-                        break;
                     }
                 }
                 if (!haveServer) {
-                    if (customer.isTypical()) {
-                        for (int i = 0; 
-                            i < (numOfSelfCheckOuts > 0 
-                                ? numOfHumanServers + 1 : numOfHumanServers); 
-                            i++) {
-                            Server server = servers.get(i);
-                            if (server.canWaitList()) {
-                                server.waitList(customer);
-                                eventQ.add(e.createNewEvent(State.WAITS, server));
-                                statistics = statistics.addNumServed();
-                                haveServer = true;
-                                break;
-                            } 
-                        }
+                    if (statisticsOnly) {
+                        // nobody observes the leaving event -> customer leaves right away
+                        customerLeft = true;
                     } else {
-                        Server shortestServer = null;
-                        for (int i = 0; 
-                            i < (numOfSelfCheckOuts > 0 
-                                ? numOfHumanServers + 1 : numOfHumanServers); 
-                            i++) {
-                            Server server = servers.get(i);
-                            if (server.canWaitList()) {
-                                if (shortestServer == null) {
-                                    shortestServer = server;
-                                } else {
-                                    shortestServer = 
-                                        (server.hasShorterQThan(shortestServer) 
-                                            ? server : shortestServer);
-                                } 
-                                haveServer = true;
-                            }
-                        }
-                        if (haveServer) {
-                            shortestServer.waitList(customer);
-                            eventQ.add(e.createNewEvent(State.WAITS, shortestServer));
-                            statistics = statistics.addNumServed();
-                        }
+                        eventQ.add(eventFactory.newEvent(e, State.LEAVES, null));
                     }
+                    statistics.addNumLeft(customer.isGreedy());
                 }
-                if (!haveServer) {
-                    eventQ.add(e.createNewEvent(State.LEAVES, null));
-                    statistics = statistics.addNumLeft();
-                }
-            } else if (customer.getState() == State.SERVED) {
+            } else if (state == State.SERVED) {
                 Server server = e.getServer();
                 // processing a serving event -> add done event
-                eventQ.add(e.createNewEvent(randomGenerator.genServiceTime(), State.DONE));
-                statistics = statistics.addTotalWaitingTime(
-                    e.getWaitingTime(customer));
-            } else if (customer.getState() == State.WAITS) {
+                double serviceTime = customer.getServiceTime();
+                if (Double.isNaN(serviceTime)) {
+                    // no recorded service time -> draw from the server's distribution
+                    serviceTime = randomGenerator.genServiceTime(server, customer);
+                }
+                eventQ.add(eventFactory.newEvent(e, serviceTime, State.DONE));
+                statistics.addBusyTime(server.id, serviceTime);
+                if (customer.getId() > lastWarmUpCustomer) {
+                    statistics.addTotalWaitingTime(e.getWaitingTime(customer), 
+                        customer.isGreedy());
+                }
+            } else if (state == State.WAITS) {
                 // processing a waiting event
                 // no new events created -> handled by server's current customer's done event
-            } else if (customer.getState() == State.LEAVES) {
+            } else if (state == State.LEAVES) {
                 // processing a leaving event -> do nothing
-            } else if (customer.getState() == State.DONE) {
+            } else if (state == State.DONE) {
                 // processing a done event
                 // clear server's current customer only
-                Server server = e.getServer();
+                Server server = writable(e.getServer());
                 server.clearCurrent(); 
+                if (customer.getId() > lastWarmUpCustomer) {
+                    statistics.addSojournTime(e.getTime() - customer.getArrivalTime());
+                }
                 
                 // simulate random resting event occurence FOR HUMAN SERVER ONLY
-                if (server.isHumanServer() && randomGenerator.genRandomRest() < restProb) {
+                if (server.isHumanServer() && randomGenerator.genRandomRest(server) < restProb) {
                     // server rests -> add rest event
-                    eventQ.add(new RestEvent(e.getTime(), server));
+                    eventQ.add(eventFactory.newRestEvent(e.getTime(), server));
                     // waiting customer's serve event handled by subsequent BackEvent
                 } else {
                     // server does not rest -> standard code
@@ -224,7 +800,8 @@ public class Simulator {
                         // server has waitlisted customer -> serve waitlisted customer
                         Customer nextCustomer = server.getNextCustomer();
                         server.serveNextCustomer();
-                        eventQ.add(e.createNewEvent(nextCustomer, State.SERVED));
+                        statistics.addQueueLength(-1);
+                        eventQ.add(eventFactory.newEvent(e, nextCustomer, State.SERVED));
                     } else {
                         // server has no waitlisted customer -> return to idle by .clearCurrent()
                         // no new events created
@@ -232,6 +809,9 @@ public class Simulator {
                 }
             }
         }
+
+        // event fully processed
+        eventFactory.release(e, customerLeft ? State.LEAVES : state);
+        numOfEventsProcessed++;
     }
 }
-
@@ -0,0 +1,64 @@
+package cs2030.simulator;
+
+import java.util.List;
+
+/**
+ * SimulatorFork class holding the state of a Simulator between events, taken by
+ * Simulator.fork, from which what-if branches are created by Scenario.newBranch. The
+ * pending events and their customers, which never change without pooled events, are
+ * those of the simulator forked, while its servers are copied once, so that the
+ * simulator can go on. Nothing in a fork is ever changed: every branch shares its
+ * events, customers and servers, and copies a server only when it first changes it.
+ */
+class SimulatorFork {
+    private final int numOfHumanServers;
+    private final int numOfSelfCheckOuts;
+    private final int maxQLength;
+    // snapshot of the simulator up to its statistics, without its servers and events
+    private final byte[] state;
+    private final List<Server> servers;
+    private final List<Event> events;
+
+    /**
+     * Constructs a fork of the given state of a simulator.
+     * @param numOfHumanServers number of HumanServers of the simulator
+     * @param numOfSelfCheckOuts number of SelfCheckOuts of the simulator
+     * @param maxQLength length of customer queue each Server of the simulator can have
+     * @param state snapshot of the simulator without its servers and events
+     * @param servers copies of the servers of the simulator, in order of id
+     * @param events pending events of the simulator
+     */
+    SimulatorFork(int numOfHumanServers, int numOfSelfCheckOuts, int maxQLength,
+        byte[] state, List<Server> servers, List<Event> events) {
+        this.numOfHumanServers = numOfHumanServers;
+        this.numOfSelfCheckOuts = numOfSelfCheckOuts;
+        this.maxQLength = maxQLength;
+        this.state = state;
+        this.servers = List.copyOf(servers);
+        this.events = List.copyOf(events);
+    }
+
+    int getNumOfHumanServers() {
+        return numOfHumanServers;
+    }
+
+    int getNumOfSelfCheckOuts() {
+        return numOfSelfCheckOuts;
+    }
+
+    int getMaxQLength() {
+        return maxQLength;
+    }
+
+    byte[] getState() {
+        return state;
+    }
+
+    List<Server> getServers() {
+        return servers;
+    }
+
+    List<Event> getEvents() {
+        return events;
+    }
+}
@@ -0,0 +1,199 @@
+package cs2030.simulator;
+
+import java.util.function.Supplier;
+
+/**
+ * SimulatorOptions class representing the optional engine settings of a Simulator, which do
+ * not change the statistics of the simulation but only how events are held, created and
+ * observed, apart from the source of its random numbers and how they are drawn, and the
+ * part of the run the statistics cover.
+ */
+public class SimulatorOptions {
+    private final Supplier<EventQueue> eventQueueSupplier;
+    private final boolean pooled;
+    private final Supplier<EventPool> eventPoolSupplier;
+    private final boolean statisticsOnly;
+    private final RandomSource randomSource;
+    private final boolean keyedRandomNumbers;
+    private final double warmUpTime;
+    private final int warmUpCustomers;
+    private final boolean batchMeans;
+
+    /**
+     * Constructs the default options, where events are held in a HeapEventQueue and
+     * every event is a new immutable object, and random numbers are drawn from 
+     * java.util.Random sequences.
+     */
+    public SimulatorOptions() {
+        this(HeapEventQueue::new, false, EventPool::new, false, RandomSource.javaRandom(), 
+            false, 0, 0, false);
+    }
+
+    private SimulatorOptions(Supplier<EventQueue> eventQueueSupplier, boolean pooled,
+        Supplier<EventPool> eventPoolSupplier, boolean statisticsOnly, 
+        RandomSource randomSource, boolean keyedRandomNumbers, double warmUpTime, 
+        int warmUpCustomers, boolean batchMeans) {
+        this.eventQueueSupplier = eventQueueSupplier;
+        this.pooled = pooled;
+        this.eventPoolSupplier = eventPoolSupplier;
+        this.statisticsOnly = statisticsOnly;
+        this.randomSource = randomSource;
+        this.keyedRandomNumbers = keyedRandomNumbers;
+        this.warmUpTime = warmUpTime;
+        this.warmUpCustomers = warmUpCustomers;
+        this.batchMeans = batchMeans;
+    }
+
+    /**
+     * Returns options where the events of each simulator are held in a new event queue
+     * from the given supplier.
+     * @param eventQueueSupplier supplier of an empty event queue for each simulator
+     * @return options with the given event queue supplier
+     */
+    public SimulatorOptions withEventQueue(Supplier<EventQueue> eventQueueSupplier) {
+        return new SimulatorOptions(eventQueueSupplier, pooled, eventPoolSupplier, statisticsOnly,
+            randomSource, keyedRandomNumbers, warmUpTime, warmUpCustomers, batchMeans);
+    }
+
+    /**
+     * Returns options where events and customers are (or are not) recycled once processed.
+     * Pooled events are mutable and must not be held on to after Simulator.processEvent,
+     * but print the same trace as immutable events.
+     * @param pooled true if events and customers are to be recycled
+     * @return options with the given pooling mode
+     */
+    public SimulatorOptions withPooledEvents(boolean pooled) {
+        return new SimulatorOptions(eventQueueSupplier, pooled, eventPoolSupplier, statisticsOnly,
+            randomSource, keyedRandomNumbers, warmUpTime, warmUpCustomers, batchMeans);
+    }
+
+    /**
+     * Returns options where the pooled events and customers of each simulator are recycled
+     * by an event pool from the given supplier, which may hold the free events of earlier
+     * simulators, so that its pools need not warm up again. Ignored unless events are 
+     * pooled.
+     * @param eventPoolSupplier supplier of an event pool with no pending events, whose 
+     *     number of customers created is 0
+     * @return options with the given event pool supplier
+     */
+    SimulatorOptions withEventPool(Supplier<EventPool> eventPoolSupplier) {
+        return new SimulatorOptions(eventQueueSupplier, pooled, eventPoolSupplier, 
+            statisticsOnly, randomSource, keyedRandomNumbers, warmUpTime, warmUpCustomers, 
+            batchMeans);
+    }
+
+    /**
+     * Returns options where (or where not) only the statistics of the simulator are
+     * observed, so that waiting and leaving events, which create no new events, are never
+     * added to the event queue and only counted in the statistics. The statistics are the 
+     * same, but the events seen through Simulator.getEvent skip waiting and leaving events.
+     * @param statisticsOnly true if only the statistics are observed
+     * @return options with the given statistics-only mode
+     */
+    public SimulatorOptions withStatisticsOnly(boolean statisticsOnly) {
+        return new SimulatorOptions(eventQueueSupplier, pooled, eventPoolSupplier, statisticsOnly,
+            randomSource, keyedRandomNumbers, warmUpTime, warmUpCustomers, batchMeans);
+    }
+
+    /**
+     * Returns options where the random streams of each simulator are created by the given
+     * source. Only RandomSource.javaRandom reproduces the traces of the original 
+     * RandomGenerator, any other source gives different (but equally distributed) runs.
+     * @param randomSource source of the random streams of each simulator
+     * @return options with the given random source
+     */
+    public SimulatorOptions withRandomSource(RandomSource randomSource) {
+        return new SimulatorOptions(eventQueueSupplier, pooled, eventPoolSupplier, statisticsOnly,
+            randomSource, keyedRandomNumbers, warmUpTime, warmUpCustomers, batchMeans);
+    }
+
+    /**
+     * Returns options where (or where not) the service time of each customer, and the rest
+     * decisions and rest periods of each server, are drawn from streams keyed by that 
+     * customer or server, so that a ParallelSimulator, whose servers process their events
+     * in parallel, has the same statistics as a Simulator with these options. Keyed runs
+     * differ from (but are distributed as) runs that are not keyed.
+     * @param keyedRandomNumbers true if draws are keyed by customer or server
+     * @return options with the given keying of random numbers
+     */
+    public SimulatorOptions withKeyedRandomNumbers(boolean keyedRandomNumbers) {
+        return new SimulatorOptions(eventQueueSupplier, pooled, eventPoolSupplier, statisticsOnly,
+            randomSource, keyedRandomNumbers, warmUpTime, warmUpCustomers, batchMeans);
+    }
+
+    /**
+     * Returns options where the statistics of a Simulator only cover the run from the 
+     * given time, deleting those of the warm-up of the initially empty servers, which 
+     * would otherwise bias the averages of short runs. Customers who arrive during the 
+     * warm-up are not counted, even if they are served or done after it, while time 
+     * averages such as utilization cover all the time after it.
+     * @param warmUpTime time the warm-up ends at, 0 for no warm-up by time
+     * @return options with the given warm-up time
+     */
+    public SimulatorOptions withWarmUpTime(double warmUpTime) {
+        return new SimulatorOptions(eventQueueSupplier, pooled, eventPoolSupplier, statisticsOnly,
+            randomSource, keyedRandomNumbers, warmUpTime, warmUpCustomers, batchMeans);
+    }
+
+    /**
+     * Returns options where the statistics of a Simulator only cover the run from the 
+     * arrival of the customer after the given number of customers. The warm-up ends at
+     * the earlier of the warm-up time and the warm-up customers, if both are given.
+     * @param warmUpCustomers number of customers arriving during the warm-up, 0 for no 
+     *     warm-up by customers
+     * @return options with the given number of warm-up customers
+     */
+    public SimulatorOptions withWarmUpCustomers(int warmUpCustomers) {
+        return new SimulatorOptions(eventQueueSupplier, pooled, eventPoolSupplier, statisticsOnly,
+            randomSource, keyedRandomNumbers, warmUpTime, warmUpCustomers, batchMeans);
+    }
+
+    /**
+     * Returns options where (or where not) the statistics of a Simulator record the 
+     * waiting times of customers in order of service (see Statistics.getWaitingTimeSeries),
+     * to estimate the steady-state average waiting time and its confidence interval from a
+     * single run, deleting the warm-up detected by MSER-5.
+     * @param batchMeans true if the series of waiting times is recorded
+     * @return options with the given recording of waiting times
+     */
+    public SimulatorOptions withBatchMeans(boolean batchMeans) {
+        return new SimulatorOptions(eventQueueSupplier, pooled, eventPoolSupplier, statisticsOnly,
+            randomSource, keyedRandomNumbers, warmUpTime, warmUpCustomers, batchMeans);
+    }
+
+    RandomSource getRandomSource() {
+        return randomSource;
+    }
+
+    boolean isKeyedRandomNumbers() {
+        return keyedRandomNumbers;
+    }
+
+    double getWarmUpTime() {
+        return warmUpTime;
+    }
+
+    int getWarmUpCustomers() {
+        return warmUpCustomers;
+    }
+
+    boolean isBatchMeans() {
+        return batchMeans;
+    }
+
+    boolean isPooledEvents() {
+        return pooled;
+    }
+
+    boolean isStatisticsOnly() {
+        return statisticsOnly;
+    }
+
+    EventQueue newEventQueue() {
+        return eventQueueSupplier.get();
+    }
+
+    EventFactory newEventFactory() {
+        return pooled ? eventPoolSupplier.get() : new EventFactory();
+    }
+}
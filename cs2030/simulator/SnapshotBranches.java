@@ -0,0 +1,93 @@
+package cs2030.simulator;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SnapshotBranches class running what-if variants of a scenario from the same simulated
+ * instant of a warmed-up trunk Simulator, in parallel on a work-stealing pool, so that the
+ * warm-up is simulated once rather than once per variant.
+ *
+ * <p>The trunk is forked once (see Simulator.fork): its servers are copied, while its
+ * pending events and customers, which never change without pooled events, are shared.
+ * Every branch shares the events, customers and servers of the fork, and copies a server
+ * and its customer queue only when it first changes them, so that a branch costs its
+ * random generator, statistics and the servers it reaches rather than a copy of the
+ * trunk, and the trunk can go on (or be discarded) as soon as the branches are
+ * constructed. Pooled events and customers change in place, so the trunk of options
+ * pooling events is instead serialized into a snapshot once, and each branch restores its
+ * own full copy of the trunk from the snapshot (see Simulator.restoreBranch). Each branch
+ * is created on the worker thread that runs it. A variant may change the rest 
+ * probability, the greedy probability or add SelfCheckOuts; its other properties are 
+ * those of the trunk.
+ */
+public class SnapshotBranches {
+    // fork of the trunk, null if events are pooled
+    private final SimulatorFork fork;
+    // snapshot of the trunk, null unless events are pooled
+    private final byte[] snapshot;
+    private final List<Scenario> variants;
+    private final SimulatorOptions options;
+    private final int parallelism;
+
+    /**
+     * Constructs the branches of the given variants from the current state of the trunk,
+     * using all available cores.
+     * @param trunk simulator to branch from
+     * @param variants variants of the scenario of the trunk, one per branch
+     * @param options engine options the trunk was constructed with
+     */
+    public SnapshotBranches(Simulator trunk, List<Scenario> variants,
+        SimulatorOptions options) {
+        this(trunk, variants, options, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs the branches of the given variants from the current state of the trunk,
+     * using up to the given number of threads.
+     * @param trunk simulator to branch from
+     * @param variants variants of the scenario of the trunk, one per branch
+     * @param options engine options the trunk was constructed with
+     * @param parallelism maximum number of branches to run at the same time
+     */
+    public SnapshotBranches(Simulator trunk, List<Scenario> variants,
+        SimulatorOptions options, int parallelism) {
+        this.fork = options.isPooledEvents() ? null : trunk.fork();
+        this.snapshot = options.isPooledEvents() ? trunk.snapshot() : null;
+        this.variants = List.copyOf(variants);
+        this.options = options;
+        this.parallelism = parallelism;
+    }
+
+    public List<Scenario> getVariants() {
+        return variants;
+    }
+
+    /**
+     * Creates a new simulator of the given branch, continuing from the trunk.
+     * @param branch index of the variant of the branch
+     * @return new simulator of the branch
+     * @throws IllegalArgumentException if the variant changes a property that cannot be
+     *     changed from the trunk
+     */
+    public Simulator newBranch(int branch) {
+        if (fork != null) {
+            return variants.get(branch).newBranch(fork, options);
+        }
+        Simulator sim = variants.get(branch).newSimulator(options);
+        sim.restoreBranch(snapshot);
+        return sim;
+    }
+
+    /**
+     * Runs all branches to the end.
+     * @return statistics of each branch, including the warm-up of the trunk, in order of
+     *     the variants
+     */
+    public List<Statistics> run() {
+        Statistics[] statistics = new Statistics[variants.size()];
+        ParallelJobs.run(variants.size(), parallelism, i ->
+            statistics[i] = newBranch(i).run());
+        return Arrays.asList(statistics);
+    }
+}
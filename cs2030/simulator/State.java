@@ -3,7 +3,7 @@ package cs2030.simulator;
 /**
  * State class representing the 5 different states each customer can be in.
  */
-enum State {
+public enum State {
     ARRIVES("arrives"),
     SERVED("served by"),
     WAITS("waits to be served by"),
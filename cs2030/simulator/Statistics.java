@@ -1,56 +1,409 @@
 package cs2030.simulator;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
 /**
- * Statistics class representing the statistics to collect.
+ * Statistics class representing the statistics collected by a simulator, accumulated in
+ * place in primitive fields as events are processed, so that collecting them allocates 
+ * nothing. Statistics of a simulator still processing events are a live view.
  */
 public class Statistics {
-    private final int numServed;
-    private final int numLeft;
-    private final double totalWaitingTime;
+    private int numServed;
+    private int numLeft;
+    private double totalWaitingTime;
+    private double maxWaitingTime;
+    private final LogHistogram waitingTimes;
+    private final LogHistogram sojournTimes;
+
+    // greedy and typical customer breakdown
+    private int numGreedyServed;
+    private int numGreedyLeft;
+    private double totalGreedyWaitingTime;
+
+    // waiting times in order of service, null if not recorded
+    private final BatchMeans waitingTimeSeries;
+
+    // time averages, over the time from the end of the warm-up (0 if none) to the latest
+    // (finite) event time
+    private double startTime;
+    private double time;
+    private int queueLength;
+    private double queueLengthArea;
+    private final double[] busyTimes;
+    private final double[] restTimes;
 
     /**
      * Constructs a new statistics object where data initialised to 0.
      */
     Statistics() {
-        this.numServed = 0;
-        this.numLeft = 0;
-        this.totalWaitingTime = 0;
+        this(0);
+    }
+
+    /**
+     * Constructs a new statistics object for the given number of servers, indexed from 1, 
+     * where data initialised to 0.
+     * @param numOfServers number of servers in the simulator
+     */
+    Statistics(int numOfServers) {
+        this(numOfServers, false);
     }
 
     /**
-     * Constructs a new statistics object where data is initialised according
-     * to the given arguments.
-     * @param numServed number of customers served
-     * @param numLeft number of customers who left without getting served
-     * @param totalWaitingTime summation of all waiting times of customers who waited
+     * Constructs a new statistics object for the given number of servers, indexed from 1, 
+     * which may record the series of waiting times for batch means, where data initialised
+     * to 0.
+     * @param numOfServers number of servers in the simulator
+     * @param batchMeans true if the waiting times are recorded in order of service
      */
-    Statistics(int numServed, int numLeft, double totalWaitingTime) {
-        this.numServed = numServed;
-        this.numLeft = numLeft;
-        this.totalWaitingTime = totalWaitingTime;
+    Statistics(int numOfServers, boolean batchMeans) {
+        this.waitingTimeSeries = batchMeans ? new BatchMeans() : null;
+        this.waitingTimes = new LogHistogram();
+        this.sojournTimes = new LogHistogram();
+        this.busyTimes = new double[numOfServers];
+        this.restTimes = new double[numOfServers];
     }
 
-    Statistics addTotalWaitingTime(double time) {
-        return new Statistics(numServed, numLeft, totalWaitingTime + time);
+    /**
+     * Advances the clock of the statistics to the given event time, accumulating the 
+     * queue length over the time elapsed. Infinite times are ignored.
+     * @param time time of event being processed
+     */
+    void advanceTime(double time) {
+        if (time > this.time && !Double.isInfinite(time)) {
+            queueLengthArea += queueLength * (time - this.time);
+            this.time = time;
+        }
     }
 
-    Statistics addNumServed() {
-        return new Statistics(numServed + 1, numLeft, totalWaitingTime);
+    /**
+     * Returns the time of the latest (finite) event.
+     * @return time up to which the statistics are taken
+     */
+    double getTime() {
+        return time;
     }
 
-    Statistics addNumLeft() {
-        return new Statistics(numServed, numLeft + 1, totalWaitingTime);
+    /**
+     * Deletes the statistics of the warm-up, which ends at the current time of the
+     * statistics, so that they only cover the rest of the run. Customers waiting in queues
+     * at the end of the warm-up are still counted in the queue length, but their waiting 
+     * and sojourn times are left out by the Simulator.
+     */
+    void deleteWarmUp() {
+        numServed = 0;
+        numLeft = 0;
+        totalWaitingTime = 0;
+        maxWaitingTime = 0;
+        waitingTimes.clear();
+        sojournTimes.clear();
+        if (waitingTimeSeries != null) {
+            waitingTimeSeries.clear();
+        }
+        numGreedyServed = 0;
+        numGreedyLeft = 0;
+        totalGreedyWaitingTime = 0;
+        startTime = time;
+        queueLengthArea = 0;
+        Arrays.fill(busyTimes, 0);
+        Arrays.fill(restTimes, 0);
+    }
+
+    void addTotalWaitingTime(double time, boolean greedy) {
+        totalWaitingTime += time;
+        if (greedy) {
+            totalGreedyWaitingTime += time;
+        }
+        if (time > maxWaitingTime) {
+            maxWaitingTime = time;
+        }
+        waitingTimes.add(time);
+        if (waitingTimeSeries != null) {
+            waitingTimeSeries.add(time);
+        }
+    }
+
+    /**
+     * Adds the time from arrival to departure of a customer who is done being served.
+     * @param time sojourn time of customer
+     */
+    void addSojournTime(double time) {
+        sojournTimes.add(time);
+    }
+
+    void addNumServed(boolean greedy) {
+        numServed++;
+        if (greedy) {
+            numGreedyServed++;
+        }
+    }
+
+    void addNumLeft(boolean greedy) {
+        numLeft++;
+        if (greedy) {
+            numGreedyLeft++;
+        }
+    }
+
+    /**
+     * Changes the total number of customers waiting in queues by the given amount, at the
+     * current time of the statistics.
+     * @param change change in the number of waiting customers
+     */
+    void addQueueLength(int change) {
+        queueLength += change;
+    }
+
+    /**
+     * Adds the given time spent serving a customer to the busy time of the given server.
+     * @param serverId id of the server
+     * @param time service time
+     */
+    void addBusyTime(int serverId, double time) {
+        busyTimes[serverId - 1] += time;
+    }
+
+    /**
+     * Adds the given time spent resting to the rest time of the given server.
+     * @param serverId id of the server
+     * @param time rest period
+     */
+    void addRestTime(int serverId, double time) {
+        restTimes[serverId - 1] += time;
+    }
+
+    /**
+     * Adds the statistics of another part of the same simulation, advanced to the same 
+     * time, to these statistics. Averages of the sum are those of the whole simulation (up
+     * to floating-point rounding, as totals are summed in a different order).
+     * @param other statistics of another part, of the same number of servers
+     */
+    void addAll(Statistics other) {
+        numServed += other.numServed;
+        numLeft += other.numLeft;
+        totalWaitingTime += other.totalWaitingTime;
+        maxWaitingTime = Math.max(maxWaitingTime, other.maxWaitingTime);
+        waitingTimes.addAll(other.waitingTimes);
+        sojournTimes.addAll(other.sojournTimes);
+        numGreedyServed += other.numGreedyServed;
+        numGreedyLeft += other.numGreedyLeft;
+        totalGreedyWaitingTime += other.totalGreedyWaitingTime;
+        advanceTime(other.time);
+        queueLength += other.queueLength;
+        queueLengthArea += other.queueLengthArea;
+        for (int i = 0; i < busyTimes.length; i++) {
+            busyTimes[i] += other.busyTimes[i];
+            restTimes[i] += other.restTimes[i];
+        }
+    }
+
+    /**
+     * Writes every statistic accumulated so far.
+     * @param out destination of the statistics
+     * @throws IOException if the statistics cannot be written
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeInt(numServed);
+        out.writeInt(numLeft);
+        out.writeDouble(totalWaitingTime);
+        out.writeDouble(maxWaitingTime);
+        waitingTimes.writeState(out);
+        sojournTimes.writeState(out);
+        out.writeInt(numGreedyServed);
+        out.writeInt(numGreedyLeft);
+        out.writeDouble(totalGreedyWaitingTime);
+        out.writeBoolean(waitingTimeSeries != null);
+        if (waitingTimeSeries != null) {
+            waitingTimeSeries.writeState(out);
+        }
+        out.writeDouble(startTime);
+        out.writeDouble(time);
+        out.writeInt(queueLength);
+        out.writeDouble(queueLengthArea);
+        out.writeInt(busyTimes.length);
+        for (int i = 0; i < busyTimes.length; i++) {
+            out.writeDouble(busyTimes[i]);
+            out.writeDouble(restTimes[i]);
+        }
+    }
+
+    /**
+     * Reads the statistics written by writeState into these new statistics of the same
+     * or a larger number of servers.
+     * @param in source of the statistics
+     * @throws IOException if the statistics cannot be read
+     * @throws IllegalArgumentException if the statistics written are of more servers, or
+     *     differ in whether the series of waiting times is recorded
+     */
+    void readState(DataInput in) throws IOException {
+        numServed = in.readInt();
+        numLeft = in.readInt();
+        totalWaitingTime = in.readDouble();
+        maxWaitingTime = in.readDouble();
+        waitingTimes.readState(in);
+        sojournTimes.readState(in);
+        numGreedyServed = in.readInt();
+        numGreedyLeft = in.readInt();
+        totalGreedyWaitingTime = in.readDouble();
+        if (in.readBoolean() != (waitingTimeSeries != null)) {
+            throw new IllegalArgumentException("statistics of a different series recording");
+        }
+        if (waitingTimeSeries != null) {
+            waitingTimeSeries.readState(in);
+        }
+        startTime = in.readDouble();
+        time = in.readDouble();
+        queueLength = in.readInt();
+        queueLengthArea = in.readDouble();
+        // servers added since have no busy or rest time
+        int numOfServers = in.readInt();
+        if (numOfServers > busyTimes.length) {
+            throw new IllegalArgumentException("statistics of more servers");
+        }
+        for (int i = 0; i < numOfServers; i++) {
+            busyTimes[i] = in.readDouble();
+            restTimes[i] = in.readDouble();
+        }
+    }
+
+    public int getNumServed() {
+        return numServed;
+    }
+
+    public int getNumLeft() {
+        return numLeft;
+    }
+
+    public int getNumGreedyServed() {
+        return numGreedyServed;
+    }
+
+    public int getNumGreedyLeft() {
+        return numGreedyLeft;
+    }
+
+    public int getNumTypicalServed() {
+        return numServed - numGreedyServed;
+    }
+
+    public int getNumTypicalLeft() {
+        return numLeft - numGreedyLeft;
     }
 
     /**
      * Computes and returns the average waiting time of each customer served.
      * @return total waiting time of all customers served / number of customers served
      */
-    double getAvgWaitingTime() {
-        if (numServed == 0) {
+    public double getAvgWaitingTime() {
+        return average(totalWaitingTime, numServed);
+    }
+
+    public double getAvgGreedyWaitingTime() {
+        return average(totalGreedyWaitingTime, numGreedyServed);
+    }
+
+    public double getAvgTypicalWaitingTime() {
+        return average(totalWaitingTime - totalGreedyWaitingTime, numServed - numGreedyServed);
+    }
+
+    public double getMaxWaitingTime() {
+        return maxWaitingTime;
+    }
+
+    /**
+     * Returns an estimate (within 1.6%) of the given percentile of the waiting times of
+     * customers whose service has started.
+     * @param percentile percentile between 0 and 100
+     * @return estimate of the percentile of waiting times, NaN if nobody has been served
+     */
+    public double getWaitingTimePercentile(double percentile) {
+        return waitingTimes.getPercentile(percentile);
+    }
+
+    /**
+     * Returns the distribution of the waiting times of customers whose service has started.
+     * @return histogram of waiting times
+     */
+    public LogHistogram getWaitingTimes() {
+        return waitingTimes;
+    }
+
+    /**
+     * Returns the waiting times of customers in order of service, from which the 
+     * steady-state average waiting time is estimated with a confidence interval from this
+     * single run (see BatchMeans).
+     * @return series of waiting times, null if not recorded (see 
+     *     SimulatorOptions.withBatchMeans)
+     */
+    public BatchMeans getWaitingTimeSeries() {
+        return waitingTimeSeries;
+    }
+
+    /**
+     * Returns the distribution of the times from arrival to departure of customers who 
+     * are done being served.
+     * @return histogram of sojourn times
+     */
+    public LogHistogram getSojournTimes() {
+        return sojournTimes;
+    }
+
+    /**
+     * Returns the percentiles of waiting and sojourn times, reported alongside toString.
+     * @return percentiles in the form "waiting [p50 p95 p99] sojourn [p50 p95 p99]"
+     */
+    public String getPercentiles() {
+        return "waiting " + waitingTimes + " sojourn " + sojournTimes;
+    }
+
+    /**
+     * Returns the time average of the total number of customers waiting in queues.
+     * @return average number of customers waiting in queues over time
+     */
+    public double getAvgQueueLength() {
+        return time == startTime ? 0 : queueLengthArea / (time - startTime);
+    }
+
+    /**
+     * Returns the time the given server has spent serving customers, counted when each 
+     * service starts.
+     * @param serverId id of the server
+     * @return total service time of the server
+     */
+    public double getBusyTime(int serverId) {
+        return busyTimes[serverId - 1];
+    }
+
+    /**
+     * Returns the time the given server has spent resting, counted when each rest starts.
+     * @param serverId id of the server
+     * @return total rest time of the server
+     */
+    public double getRestTime(int serverId) {
+        return restTimes[serverId - 1];
+    }
+
+    /**
+     * Returns the fraction of the time (from the end of the warm-up up to the latest event)
+     * the given server has spent serving customers.
+     * @param serverId id of the server
+     * @return utilization of the server
+     */
+    public double getUtilization(int serverId) {
+        return time == startTime ? 0 : getBusyTime(serverId) / (time - startTime);
+    }
+
+    public int getNumOfServers() {
+        return busyTimes.length;
+    }
+
+    private static double average(double total, int count) {
+        if (count == 0) {
             return 0;
         } else {
-            return totalWaitingTime / numServed;
+            return total / count;
         }
     }
 
@@ -60,5 +413,3 @@ public class Statistics {
                 numServed + " " + numLeft + "]";
     }
 }
-
-    
@@ -0,0 +1,190 @@
+package cs2030.simulator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Sweep class running a set of scenarios, such as a grid over the properties read by Main,
+ * in parallel on a work-stealing pool within one JVM. Each worker thread reuses its event
+ * queue and, if events are pooled, its event pool from one scenario to the next, so that
+ * queues grown and events and customers allocated by earlier jobs are not allocated again.
+ * The statistics of each scenario, histograms included, are kept as its result, and its 
+ * servers and their queues are sized by its properties, so both are allocated anew.
+ */
+public class Sweep {
+    /**
+     * Header of the CSV table written by writeCsv.
+     */
+    public static final String CSV_HEADER = "baseSeed,numOfHumanServers,numOfSelfCheckOuts,"
+        + "maxQLength,numOfCustomers,arrivalRate,serviceRate,restingRate,restProb,greedyProb,"
+        + "avgWaitingTime,numServed,numLeft";
+
+    private static final int NUM_OF_PROPERTIES = 10;
+    // the first properties are whole numbers (seed, servers, queue length, customers)
+    private static final int NUM_OF_INT_PROPERTIES = 5;
+
+    private final List<Scenario> scenarios;
+    private final SimulatorOptions options;
+    private final int parallelism;
+
+    /**
+     * Constructs a sweep over the given scenarios using all available cores.
+     * @param scenarios scenarios to be run
+     * @param options engine options of each scenario
+     */
+    public Sweep(List<Scenario> scenarios, SimulatorOptions options) {
+        this(scenarios, options, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a sweep over the given scenarios using up to the given number of threads.
+     * @param scenarios scenarios to be run
+     * @param options engine options of each scenario
+     * @param parallelism maximum number of scenarios to run at the same time
+     */
+    public Sweep(List<Scenario> scenarios, SimulatorOptions options, int parallelism) {
+        this.scenarios = List.copyOf(scenarios);
+        // nothing observes the events of a run
+        this.options = options.withStatisticsOnly(true);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Expands the given sweep specification into the grid of scenarios it describes.
+     * The specification has the 10 properties in the order read by Main, where each 
+     * property is either a single value, a comma-separated list of values (e.g. "1,2,5"), or
+     * an inclusive range "start:end:step" (e.g. "0.1:0.9:0.2"). Scenarios are listed with
+     * the last property varying fastest.
+     * @param spec sweep specification
+     * @return scenarios of the grid
+     * @throws IllegalArgumentException if the specification is malformed, or gives a 
+     *     value that is not a whole number to one of the first 5 properties
+     */
+    public static List<Scenario> expand(String spec) {
+        String[] fields = spec.trim().split("\\s+");
+        if (fields.length != NUM_OF_PROPERTIES) {
+            throw new IllegalArgumentException("expected " + NUM_OF_PROPERTIES 
+                + " properties but found " + fields.length + ": " + spec);
+        }
+        double[][] values = new double[NUM_OF_PROPERTIES][];
+        int numOfScenarios = 1;
+        for (int p = 0; p < NUM_OF_PROPERTIES; p++) {
+            values[p] = expandField(fields[p]);
+            if (p < NUM_OF_INT_PROPERTIES) {
+                checkIntegral(values[p], p);
+            }
+            numOfScenarios = Math.multiplyExact(numOfScenarios, values[p].length);
+        }
+
+        List<Scenario> scenarios = new ArrayList<>(numOfScenarios);
+        int[] index = new int[NUM_OF_PROPERTIES];
+        for (int n = 0; n < numOfScenarios; n++) {
+            double[] v = new double[NUM_OF_PROPERTIES];
+            for (int p = 0; p < NUM_OF_PROPERTIES; p++) {
+                v[p] = values[p][index[p]];
+            }
+            scenarios.add(new Scenario((int) v[0], (int) v[1], (int) v[2], (int) v[3], 
+                (int) v[4], v[5], v[6], v[7], v[8], v[9]));
+            // advance mixed-radix index, last property fastest
+            for (int p = NUM_OF_PROPERTIES - 1; p >= 0; p--) {
+                index[p]++;
+                if (index[p] < values[p].length) {
+                    break;
+                }
+                index[p] = 0;
+            }
+        }
+        return scenarios;
+    }
+
+    private static void checkIntegral(double[] values, int property) {
+        for (double value : values) {
+            if (value != Math.rint(value) || Math.abs(value) > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(CSV_HEADER.split(",")[property] 
+                    + " must be a whole number but found " + value);
+            }
+        }
+    }
+
+    private static double[] expandField(String field) {
+        try {
+            if (field.contains(":")) {
+                String[] range = field.split(":");
+                if (range.length != 3) {
+                    throw new IllegalArgumentException("expected start:end:step but found " 
+                        + field);
+                }
+                // decimal arithmetic so that e.g. 0.1:0.9:0.2 gives exactly 0.1, 0.3, .., 0.9
+                BigDecimal start = new BigDecimal(range[0]);
+                BigDecimal end = new BigDecimal(range[1]);
+                BigDecimal step = new BigDecimal(range[2]);
+                if (step.signum() <= 0 || end.compareTo(start) < 0) {
+                    throw new IllegalArgumentException("empty range " + field);
+                }
+                int count = end.subtract(start).divideToIntegralValue(step).intValueExact() + 1;
+                double[] values = new double[count];
+                for (int i = 0; i < count; i++) {
+                    values[i] = start.add(step.multiply(BigDecimal.valueOf(i))).doubleValue();
+                }
+                return values;
+            }
+            return Arrays.stream(field.split(",")).mapToDouble(Double::parseDouble).toArray();
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("malformed property " + field, e);
+        }
+    }
+
+    public List<Scenario> getScenarios() {
+        return scenarios;
+    }
+
+    /**
+     * Runs all scenarios of this sweep.
+     * @return statistics of each scenario, in order of the scenarios
+     */
+    public List<Statistics> run() {
+        // each worker keeps one event queue, drained empty at the end of every scenario, 
+        // and one event pool, to which every event and customer is released by then
+        ThreadLocal<EventQueue> eventQueues = ThreadLocal.withInitial(options::newEventQueue);
+        ThreadLocal<EventPool> eventPools = ThreadLocal.withInitial(EventPool::new);
+        SimulatorOptions sweepOptions = options.withEventQueue(eventQueues::get)
+            .withEventPool(() -> {
+                EventPool eventPool = eventPools.get();
+                // customers of the next scenario are indexed from 1 again
+                eventPool.restoreNumOfCustomers(0);
+                return eventPool;
+            });
+        Statistics[] statistics = new Statistics[scenarios.size()];
+        ParallelJobs.run(scenarios.size(), parallelism, i -> 
+            statistics[i] = scenarios.get(i).newSimulator(sweepOptions).run());
+        return Arrays.asList(statistics);
+    }
+
+    /**
+     * Writes the given statistics of the scenarios of this sweep as a CSV table with one
+     * row per scenario, preceded by CSV_HEADER.
+     * @param statistics statistics of each scenario, as returned by run
+     * @param out destination of the table
+     */
+    public void writeCsv(List<Statistics> statistics, Appendable out) {
+        try {
+            out.append(CSV_HEADER).append('\n');
+            for (int i = 0; i < scenarios.size(); i++) {
+                Statistics s = statistics.get(i);
+                out.append(scenarios.get(i).toString().replace(' ', ','))
+                    .append(',').append(String.format(Locale.ROOT, "%.3f", 
+                        s.getAvgWaitingTime()))
+                    .append(',').append(Integer.toString(s.getNumServed()))
+                    .append(',').append(Integer.toString(s.getNumLeft()))
+                    .append('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package cs2030.simulator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+
+/**
+ * TraceArrivalSource class replaying the customer arrivals recorded in an ArrivalTrace, 
+ * mapping a window of the file at a time, where each arrival is only read when that 
+ * customer's arrival is requested.
+ */
+class TraceArrivalSource implements ArrivalSource {
+    // records per mapped window, about 64 MiB
+    private static final int WINDOW_RECORDS = 1 << 22;
+
+    private final ArrivalTrace trace;
+    private final EventFactory eventFactory;
+    private MappedByteBuffer window;
+    // index of the first record of the window and of the next record
+    private long windowStart;
+    private long nextRecord;
+    private double prevArrivalTime;
+
+    /**
+     * Constructs an arrival source replaying the given trace from its first record.
+     * @param trace recorded arrivals
+     * @param eventFactory factory creating the arrival events
+     */
+    TraceArrivalSource(ArrivalTrace trace, EventFactory eventFactory) {
+        this.trace = trace;
+        this.eventFactory = eventFactory;
+        this.windowStart = 0;
+        this.nextRecord = 0;
+        this.window = null;
+        this.prevArrivalTime = 0;
+    }
+
+    @Override
+    public boolean hasNextArrival() {
+        return nextRecord < trace.getNumOfRecords();
+    }
+
+    @Override
+    public Event nextArrival() {
+        if (window == null || nextRecord - windowStart == WINDOW_RECORDS) {
+            windowStart = nextRecord;
+            window = trace.map(windowStart, 
+                (int) Math.min(WINDOW_RECORDS, trace.getNumOfRecords() - windowStart));
+        }
+        int offset = (int) (nextRecord - windowStart) * ArrivalTraceWriter.RECORD_LENGTH;
+        double arrivalTime = window.getDouble(offset);
+        double serviceTime = window.getDouble(offset + 8);
+        boolean greedy = window.get(offset + 16) != 0;
+        if (!(arrivalTime >= prevArrivalTime)) {
+            throw new IllegalArgumentException("arrival of record " + nextRecord 
+                + " before that of the previous record");
+        }
+        prevArrivalTime = arrivalTime;
+        nextRecord++;
+        return eventFactory.newArrivalEvent(arrivalTime, greedy, serviceTime);
+    }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeLong(nextRecord);
+        out.writeDouble(prevArrivalTime);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        nextRecord = in.readLong();
+        prevArrivalTime = in.readDouble();
+        // mapped again from the next record
+        window = null;
+    }
+}
@@ -0,0 +1,92 @@
+package cs2030.simulator;
+
+/**
+ * TraceRecord class representing one line of the trace of events as read back from a
+ * binary trace, where times are held as the number of thousandths printed in the text trace.
+ */
+public class TraceRecord {
+    private final long thousandths;
+    private final double time;
+    private final int customerId;
+    private final boolean greedy;
+    private final State state;
+    private final int serverId;
+    private final boolean selfCheckOut;
+
+    /**
+     * Constructs a record of an event.
+     * @param thousandths time of event in thousandths, Fixed3.NOT_APPLICABLE if time
+     *     is not a plain number of thousandths
+     * @param time time of event, only used if thousandths is Fixed3.NOT_APPLICABLE
+     * @param customerId id of customer involved in event
+     * @param greedy true if customer is a greedy customer
+     * @param state state of customer
+     * @param serverId id of server involved in event, 0 if event concerns no server
+     * @param selfCheckOut true if server is a self-checkout counter
+     */
+    TraceRecord(long thousandths, double time, int customerId, boolean greedy, State state,
+        int serverId, boolean selfCheckOut) {
+        this.thousandths = thousandths;
+        this.time = thousandths == Fixed3.NOT_APPLICABLE ? time : thousandths / 1000.0;
+        this.customerId = customerId;
+        this.greedy = greedy;
+        this.state = state;
+        this.serverId = serverId;
+        this.selfCheckOut = selfCheckOut;
+    }
+
+    /**
+     * Returns the time of event, rounded to thousandths as in the text trace.
+     * @return time of event
+     */
+    public double getTime() {
+        return time;
+    }
+
+    public int getCustomerId() {
+        return customerId;
+    }
+
+    public boolean isGreedy() {
+        return greedy;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Returns the id of the server involved in the event, 0 if event concerns no server.
+     * @return id of server involved in event, 0 if none
+     */
+    public int getServerId() {
+        return serverId;
+    }
+
+    public boolean isSelfCheckOut() {
+        return selfCheckOut;
+    }
+
+    /**
+     * Returns the line of the text trace of this event, without line separator.
+     * @return line of the text trace
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (thousandths == Fixed3.NOT_APPLICABLE) {
+            sb.append(String.format("%.3f", time));
+        } else {
+            long decimals = thousandths % 1000;
+            sb.append(thousandths / 1000).append('.')
+                .append(decimals < 100 ? "0" : "").append(decimals < 10 ? "0" : "")
+                .append(decimals);
+        }
+        sb.append(' ').append(customerId).append(greedy ? "(greedy)" : "")
+            .append(' ').append(state);
+        if (serverId != 0) {
+            sb.append(' ').append(selfCheckOut ? "self-check " : "server ").append(serverId);
+        }
+        return sb.toString();
+    }
+}
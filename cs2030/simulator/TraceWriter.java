@@ -0,0 +1,219 @@
+package cs2030.simulator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * TraceWriter class writing the trace of events (as printed by Main) straight into a large
+ * reusable byte buffer which is flushed to a channel when full. Events are encoded byte by
+ * byte without creating a String, and the output is byte-identical to printing each 
+ * event's toString with System.out.println. Times are written with the decimal separator
+ * and digits of the default locale, as String.format writes them.
+ */
+public class TraceWriter implements AutoCloseable {
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    // longest line written without a String: time, id, "(greedy)", state, server
+    private static final int MAX_EVENT_LENGTH = 128;
+
+    private static final byte[][] STATES = new byte[State.values().length][];
+    private static final byte[] GREEDY = ascii("(greedy)");
+    private static final byte[] HUMAN_SERVER = ascii("server ");
+    private static final byte[] SELF_CHECK_OUT = ascii("self-check ");
+    private static final byte[] LINE_SEPARATOR = ascii(System.lineSeparator());
+
+    static {
+        for (State state : State.values()) {
+            STATES[state.ordinal()] = ascii(state.toString());
+        }
+    }
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] digits = new byte[20];
+    // decimal separator of the default locale, 0 if times are left to String.format as
+    // the locale does not write them in ASCII
+    private final byte decimalSeparator;
+    // position of the trace, in lines and bytes, up to the start of the buffer
+    private long numOfLines = 0;
+    private long numOfBytesFlushed = 0;
+
+    /**
+     * Constructs a trace writer with a 64 KiB buffer writing to the given channel.
+     * @param channel destination of the trace
+     */
+    public TraceWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a trace writer with a buffer of the given size writing to the given channel.
+     * @param channel destination of the trace
+     * @param bufferSize size of the buffer in bytes
+     */
+    public TraceWriter(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, MAX_EVENT_LENGTH));
+        DecimalFormatSymbols symbols = 
+            DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+        char separator = symbols.getDecimalSeparator();
+        this.decimalSeparator = symbols.getZeroDigit() == '0' && separator < 0x80 
+            ? (byte) separator : 0;
+    }
+
+    /**
+     * Writes the line describing the given event, skipping rest and back events
+     * which are not part of the trace.
+     * @param e event to be written
+     */
+    public void write(Event e) {
+        if (e.isRestEvent() || e.isBackEvent()) {
+            return;
+        }
+        if (buffer.remaining() < MAX_EVENT_LENGTH) {
+            flush();
+        }
+        Customer customer = e.getCustomer();
+        putFixed3(e.getTime());
+        buffer.put((byte) ' ');
+        putInt(customer.getId());
+        if (customer.isGreedy()) {
+            buffer.put(GREEDY);
+        }
+        buffer.put((byte) ' ');
+        buffer.put(STATES[customer.getState().ordinal()]);
+        Server server = e.getServer();
+        if (server != null) {
+            buffer.put((byte) ' ');
+            buffer.put(server.isSelfCheckOut() ? SELF_CHECK_OUT : HUMAN_SERVER);
+            putInt(server.id);
+        }
+        buffer.put(LINE_SEPARATOR);
+        numOfLines++;
+    }
+
+    /**
+     * Writes the given line of text, such as the statistics at the end of the trace, in
+     * the default charset as System.out does.
+     * @param line line to be written
+     */
+    public void writeLine(String line) {
+        putBytes(line.getBytes(Charset.defaultCharset()));
+        putBytes(LINE_SEPARATOR);
+        numOfLines++;
+    }
+
+    /**
+     * Returns the number of lines written so far, buffered or not.
+     * @return number of lines written
+     */
+    public long getNumOfLines() {
+        return numOfLines;
+    }
+
+    /**
+     * Returns the number of bytes written so far, buffered or not.
+     * @return number of bytes written
+     */
+    public long getNumOfBytes() {
+        return numOfBytesFlushed + buffer.position();
+    }
+
+    /**
+     * Sets the position of the trace written so far, for a trace continuing one of which
+     * the given number of lines and bytes were written already, such as the trace of a
+     * resumed simulation.
+     * @param numOfLines number of lines written already
+     * @param numOfBytes number of bytes written already
+     */
+    public void setPosition(long numOfLines, long numOfBytes) {
+        this.numOfLines = numOfLines;
+        this.numOfBytesFlushed = numOfBytes - buffer.position();
+    }
+
+    /**
+     * Writes everything buffered so far to the channel.
+     */
+    public void flush() {
+        numOfBytesFlushed += buffer.position();
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flushes the buffer and closes the channel.
+     */
+    @Override
+    public void close() {
+        flush();
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // writes time as String.format("%.3f", time) does
+    private void putFixed3(double time) {
+        long thousandths = Fixed3.thousandths(time);
+        if (thousandths == Fixed3.NOT_APPLICABLE || decimalSeparator == 0) {
+            putBytes(String.format("%.3f", time).getBytes(Charset.defaultCharset()));
+        } else {
+            putThousandths(thousandths);
+        }
+    }
+
+    private void putThousandths(long thousandths) {
+        putLong(thousandths / 1000);
+        int decimals = (int) (thousandths % 1000);
+        buffer.put(decimalSeparator);
+        buffer.put((byte) ('0' + decimals / 100));
+        buffer.put((byte) ('0' + decimals / 10 % 10));
+        buffer.put((byte) ('0' + decimals % 10));
+    }
+
+    private void putInt(int value) {
+        putLong(value);
+    }
+
+    private void putLong(long value) {
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        int i = digits.length;
+        do {
+            digits[--i] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        buffer.put(digits, i, digits.length - i);
+    }
+
+    private void putBytes(byte[] bytes) {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -6,19 +6,27 @@ package cs2030.simulator;
 public class TypicalCustomer extends Customer {
     // constructor
     /**
-     * Constructs a new typical customer with an identifier 
-     * id indexed from 1, in the order Customers (of all types) are created.
+     * Constructs a typical customer with the given identifier, where customers (of all types)
+     * of a simulator are indexed from 1 in the order they arrive.
      * @param arrivalTime customer's time of arrival
+     * @param id customer's identifier
      * @param state State of the customer (State.ARRIVES/SERVED/WAITS/LEAVES/DONE)
      */
-    TypicalCustomer(double arrivalTime, State state) {
-        super(arrivalTime, state);
-    }
-
     TypicalCustomer(double arrivalTime, int id, State state) {
         super(arrivalTime, id, state);
     }
 
+    /**
+     * Constructs a typical customer with the given identifier and recorded service time.
+     * @param arrivalTime customer's time of arrival
+     * @param id customer's identifier
+     * @param state State of the customer (State.ARRIVES/SERVED/WAITS/LEAVES/DONE)
+     * @param serviceTime customer's service time, NaN if drawn when the customer is served
+     */
+    TypicalCustomer(double arrivalTime, int id, State state, double serviceTime) {
+        super(arrivalTime, id, state, serviceTime);
+    }
+
     /**
      * Constructs a place-holder customer of id 0 for use by Rest and Back events 
      * for correct priority order of events.
@@ -29,7 +37,7 @@ public class TypicalCustomer extends Customer {
 
     @Override
     public TypicalCustomer setState(State state) {
-        return new TypicalCustomer(arrivalTime, id, state);
+        return new TypicalCustomer(arrivalTime, id, state, serviceTime);
     }
 
     @Override
@@ -0,0 +1,101 @@
+package cs2030.simulator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Variates class generating variates of a Distribution from a RandomStream in blocks, 
+ * where the whole block is filled by one call to the distribution, so that the 
+ * distribution is only dispatched once per block and its transform (e.g. the logarithms of
+ * exponential variates) is computed back to back instead of one per event. The variates 
+ * are the same as when drawn one block at a time directly from the distribution, hence
+ * the same for the same seed.
+ */
+final class Variates {
+    private static final int BLOCK_SIZE = 256;
+
+    private final Distribution distribution;
+    private final RandomStream stream;
+    private final double[] block;
+    private int next;
+
+    /**
+     * Constructs a generator of variates of the given distribution from the given stream,
+     * which must not be drawn from by anything else.
+     * @param distribution distribution of the variates
+     * @param stream stream of uniforms
+     */
+    Variates(Distribution distribution, RandomStream stream) {
+        this.distribution = distribution;
+        this.stream = stream;
+        this.block = new double[BLOCK_SIZE];
+        this.next = BLOCK_SIZE;
+    }
+
+    /**
+     * Returns the next variate.
+     * @return next variate
+     */
+    double next() {
+        if (next == BLOCK_SIZE) {
+            distribution.fill(stream, block);
+            next = 0;
+        }
+        return block[next++];
+    }
+
+    /**
+     * Writes the state of the stream and the variates of the block yet to be returned.
+     * @param out destination of the state
+     * @throws IOException if the state cannot be written
+     */
+    void writeState(DataOutput out) throws IOException {
+        writeStreamState(stream, out);
+        out.writeShort(BLOCK_SIZE - next);
+        for (int i = next; i < BLOCK_SIZE; i++) {
+            out.writeDouble(block[i]);
+        }
+    }
+
+    /**
+     * Reads the state written by writeState of variates of the same distribution.
+     * @param in source of the state
+     * @throws IOException if the state cannot be read
+     */
+    void readState(DataInput in) throws IOException {
+        readStreamState(stream, in);
+        next = BLOCK_SIZE - in.readUnsignedShort();
+        for (int i = next; i < BLOCK_SIZE; i++) {
+            block[i] = in.readDouble();
+        }
+    }
+
+    /**
+     * Writes the state of the given stream.
+     * @param stream stream whose state can be saved
+     * @param out destination of the state
+     * @throws IOException if the state cannot be written
+     */
+    static void writeStreamState(RandomStream stream, DataOutput out) throws IOException {
+        long[] state = stream.saveState();
+        out.writeByte(state.length);
+        for (long word : state) {
+            out.writeLong(word);
+        }
+    }
+
+    /**
+     * Reads the state written by writeStreamState into the given stream.
+     * @param stream stream of the same class as the stream written
+     * @param in source of the state
+     * @throws IOException if the state cannot be read
+     */
+    static void readStreamState(RandomStream stream, DataInput in) throws IOException {
+        long[] state = new long[in.readUnsignedByte()];
+        for (int i = 0; i < state.length; i++) {
+            state[i] = in.readLong();
+        }
+        stream.restoreState(state);
+    }
+}
@@ -0,0 +1,107 @@
+package cs2030.simulator;
+
+/**
+ * Xoroshiro128Stream class, implementing RandomStream, generating the xoroshiro128++ 
+ * sequence of period 2^128 - 1. The stream can jump ahead by 2^64 or 2^96 draws in 
+ * constant time, so that a stream can be split into independent, reproducible substreams
+ * (e.g. one per server or per replication) without drawing from it.
+ */
+public final class Xoroshiro128Stream implements RandomStream {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    // characteristic polynomials of 2^64 and 2^96 steps of the generator
+    private static final long[] JUMP = {0x2bd7a6a6e99c2ddcL, 0x0992ccaf6a6fca05L};
+    private static final long[] LONG_JUMP = {0x360fd5f2cf8d5d99L, 0x9c6e6877736c46e3L};
+
+    private long s0;
+    private long s1;
+
+    /**
+     * Constructs a stream whose state is expanded from the given seed by SplitMix64, so 
+     * that close seeds give unrelated streams.
+     * @param seed seed of the stream
+     */
+    public Xoroshiro128Stream(long seed) {
+        this(mix(seed + GOLDEN_GAMMA), mix(seed + 2 * GOLDEN_GAMMA));
+    }
+
+    private Xoroshiro128Stream(long s0, long s1) {
+        // all-zero state is the one state outside the period
+        this.s0 = (s0 | s1) == 0 ? GOLDEN_GAMMA : s0;
+        this.s1 = s1;
+    }
+
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public long nextLong() {
+        long t0 = s0;
+        long t1 = s1;
+        long result = Long.rotateLeft(t0 + t1, 17) + t0;
+        t1 ^= t0;
+        s0 = Long.rotateLeft(t0, 49) ^ t1 ^ (t1 << 21);
+        s1 = Long.rotateLeft(t1, 28);
+        return result;
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    @Override
+    public long[] saveState() {
+        return new long[] {s0, s1};
+    }
+
+    @Override
+    public void restoreState(long[] state) {
+        s0 = state[0];
+        s1 = state[1];
+    }
+
+    /**
+     * Advances this stream by 2^64 draws.
+     */
+    public void jump() {
+        jump(JUMP);
+    }
+
+    /**
+     * Advances this stream by 2^96 draws, being 2^32 jumps.
+     */
+    public void longJump() {
+        jump(LONG_JUMP);
+    }
+
+    private void jump(long[] polynomial) {
+        long t0 = 0;
+        long t1 = 0;
+        for (long word : polynomial) {
+            for (int b = 0; b < 64; b++) {
+                if ((word & (1L << b)) != 0) {
+                    t0 ^= s0;
+                    t1 ^= s1;
+                }
+                nextLong();
+            }
+        }
+        s0 = t0;
+        s1 = t1;
+    }
+
+    /**
+     * Returns a new stream continuing from the current state of this stream, and jumps
+     * this stream ahead by 2^64 draws, so that neither stream overlaps the other within
+     * 2^64 draws.
+     * @return new stream of the next 2^64 draws of this stream
+     */
+    public Xoroshiro128Stream split() {
+        Xoroshiro128Stream substream = new Xoroshiro128Stream(s0, s1);
+        jump();
+        return substream;
+    }
+}
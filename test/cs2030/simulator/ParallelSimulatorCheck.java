@@ -0,0 +1,87 @@
+package cs2030.simulator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * ParallelSimulatorCheck class checking that a ParallelSimulator with 1 to MAX_PARTITIONS
+ * partitions collects the same statistics as a Simulator with keyed random numbers, on
+ * random scenarios: the printed statistics, greedy counts, waiting and sojourn time
+ * histograms, and busy and rest times of every server. Exits with status 1 on a mismatch.
+ */
+public class ParallelSimulatorCheck {
+    private static final int SCENARIOS = 100;
+    private static final int MAX_PARTITIONS = 6;
+
+    /**
+     * Runs the check, printing each mismatch.
+     * @param args seed of the random scenarios, 7 if none
+     */
+    public static void main(String[] args) throws IOException {
+        Random random = new Random(args.length > 0 ? Long.parseLong(args[0]) : 7);
+        int mismatches = 0;
+        for (int i = 0; i < SCENARIOS; i++) {
+            int baseSeed = random.nextInt(100);
+            int numOfHumanServers = random.nextInt(8);
+            int numOfSelfCheckOuts = random.nextInt(5);
+            int maxQLength = 1 + random.nextInt(4);
+            int numOfCustomers = 1 + random.nextInt(3000);
+            double arrivalRate = 0.5 + 3 * random.nextDouble();
+            double serviceRate = 0.5 + random.nextDouble();
+            double restingRate = random.nextInt(3) == 0 ? 0 : 0.1 + random.nextDouble();
+            double restProb = 0.5 * random.nextDouble();
+            double greedyProb = random.nextDouble();
+            SimulatorOptions options = new SimulatorOptions().withKeyedRandomNumbers(true)
+                .withStatisticsOnly(true);
+            String expected = summary(new Simulator(baseSeed, numOfHumanServers,
+                numOfSelfCheckOuts, maxQLength, numOfCustomers, arrivalRate, serviceRate,
+                restingRate, restProb, greedyProb, options).run());
+            for (int partitions = 1; partitions <= MAX_PARTITIONS; partitions++) {
+                String actual = summary(new ParallelSimulator(baseSeed, numOfHumanServers,
+                    numOfSelfCheckOuts, maxQLength, numOfCustomers, arrivalRate, serviceRate,
+                    restingRate, restProb, greedyProb, new SimulatorOptions(), partitions)
+                    .run());
+                if (!actual.equals(expected)) {
+                    mismatches++;
+                    System.out.println("scenario " + i + " with " + partitions
+                        + " partitions:\n  expected " + expected + "\n  actual   " + actual);
+                }
+            }
+        }
+        System.out.println(mismatches + " mismatches in " + SCENARIOS * MAX_PARTITIONS
+            + " runs");
+        if (mismatches > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Returns all statistics observed by a ParallelSimulator as a string, the histograms as
+     * a hash of their serialized buckets, so that equal statistics have equal summaries.
+     * @param statistics statistics of a simulation
+     * @return summary of the statistics
+     */
+    static String summary(Statistics statistics) throws IOException {
+        StringBuilder summary = new StringBuilder(statistics.toString())
+            .append(" greedy ").append(statistics.getNumGreedyServed())
+            .append(' ').append(statistics.getNumGreedyLeft())
+            .append(" max ").append(statistics.getMaxWaitingTime())
+            .append(String.format(" queue %.9f", statistics.getAvgQueueLength()))
+            .append(" waiting ").append(histogram(statistics.getWaitingTimes()))
+            .append(" sojourn ").append(histogram(statistics.getSojournTimes()));
+        for (int i = 1; i <= statistics.getNumOfServers(); i++) {
+            summary.append(' ').append(statistics.getBusyTime(i))
+                .append('/').append(statistics.getRestTime(i));
+        }
+        return summary.toString();
+    }
+
+    private static int histogram(LogHistogram histogram) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        histogram.writeState(new DataOutputStream(bytes));
+        return Arrays.hashCode(bytes.toByteArray());
+    }
+}
@@ -0,0 +1,96 @@
+package cs2030.simulator;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * SnapshotBranchesCheck class checking SnapshotBranches on random scenarios, each with
+ * its trunk warmed up for a random time: that a branch of the unmodified scenario
+ * reproduces the run of the trunk, statistics and trace, that branches of pooled events
+ * (restored from a snapshot) match branches sharing a fork for every variant, and that the
+ * trunk goes on unchanged by its branches. Exits with status 1 on a mismatch.
+ */
+public class SnapshotBranchesCheck {
+    private static final int SCENARIOS = 200;
+
+    /**
+     * Runs the check, printing each mismatch.
+     * @param args seed of the random scenarios, 5 if none
+     */
+    public static void main(String[] args) throws IOException {
+        Random random = new Random(args.length > 0 ? Long.parseLong(args[0]) : 5);
+        int mismatches = 0;
+        for (int i = 0; i < SCENARIOS; i++) {
+            Scenario scenario = new Scenario(random.nextInt(100), 1 + random.nextInt(5),
+                random.nextInt(4), 1 + random.nextInt(4), 1 + random.nextInt(2000),
+                0.5 + 3 * random.nextDouble(), 0.5 + random.nextDouble(),
+                0.1 + random.nextDouble(), 0.5 * random.nextDouble(), random.nextDouble());
+            List<Scenario> variants = List.of(scenario,
+                scenario.withNumOfSelfCheckOuts(random.nextInt(4) + 4),
+                scenario.withRestProb(0.9), scenario.withGreedyProb(random.nextDouble()));
+            double warmUpTime = 1000 * random.nextDouble();
+            SimulatorOptions options = new SimulatorOptions()
+                .withStatisticsOnly(random.nextBoolean())
+                .withKeyedRandomNumbers(random.nextBoolean());
+            String expected = ParallelSimulatorCheck.summary(
+                scenario.newSimulator(options).run());
+
+            String[] pooled = new String[variants.size()];
+            List<Statistics> statistics = branches(scenario, variants, warmUpTime,
+                options.withPooledEvents(true)).run();
+            for (int j = 0; j < variants.size(); j++) {
+                pooled[j] = ParallelSimulatorCheck.summary(statistics.get(j));
+            }
+            Simulator trunk = scenario.newSimulator(options);
+            trunk.runUntil(warmUpTime);
+            SnapshotBranches branches = new SnapshotBranches(trunk, variants, options);
+            statistics = branches.run();
+            for (int j = 0; j < variants.size(); j++) {
+                String actual = ParallelSimulatorCheck.summary(statistics.get(j));
+                if (!actual.equals(pooled[j])) {
+                    mismatches++;
+                    System.out.println("scenario " + i + " variant " + j
+                        + ":\n  pooled " + pooled[j] + "\n  shared " + actual);
+                }
+            }
+            if (!pooled[0].equals(expected)) {
+                mismatches++;
+                System.out.println("scenario " + i + " branch:\n  expected " + expected
+                    + "\n  actual   " + pooled[0]);
+            }
+
+            // the trunk and a new unmodified branch go on with the same events
+            Simulator branch = branches.newBranch(0);
+            while (trunk.hasEvent() || branch.hasEvent()) {
+                String event = trunk.hasEvent() ? trunk.getEvent().toString() : "none";
+                String branchEvent = branch.hasEvent() ? branch.getEvent().toString() : "none";
+                if (!event.equals(branchEvent)) {
+                    mismatches++;
+                    System.out.println("scenario " + i + " trace:\n  trunk  " + event
+                        + "\n  branch " + branchEvent);
+                    break;
+                }
+                trunk.processEvent();
+                branch.processEvent();
+            }
+            String actual = ParallelSimulatorCheck.summary(trunk.getStatistics());
+            if (!actual.equals(expected)) {
+                mismatches++;
+                System.out.println("scenario " + i + " trunk:\n  expected " + expected
+                    + "\n  actual   " + actual);
+            }
+        }
+        System.out.println(mismatches + " mismatches in " + SCENARIOS + " scenarios");
+        if (mismatches > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static SnapshotBranches branches(Scenario scenario, List<Scenario> variants,
+        double warmUpTime, SimulatorOptions options) {
+        Simulator trunk = scenario.newSimulator(options);
+        trunk.runUntil(warmUpTime);
+        return new SnapshotBranches(trunk, variants, options);
+    }
+}